@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.3.3"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
     id("java")
 }
 
@@ -21,12 +22,14 @@ repositories {
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("com.bloxbean.cardano:yaci-store-spring-boot-starter:0.1.4")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.5.0")
     // Jackson annotations are useful for the generated classes
     implementation("com.fasterxml.jackson.core:jackson-annotations")
     implementation("com.bloxbean.cardano:yaci-store-metadata-spring-boot-starter:0.1.4")
     implementation("org.postgresql:postgresql")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 
     // implementation("org.zalando:problem-spring-web-starter:0.29.1")
     compileOnly("org.projectlombok:lombok:1.18.32")
@@ -40,3 +43,38 @@ dependencies {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+
+// Database benchmarks, they need the PostgreSQL instance configured in application.yml
+tasks.register<Test>("benchmark") {
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    testLogging {
+        showStandardStreams = true
+    }
+}
+
+// Micro benchmarks of the parsing and mapping hot paths in src/jmh, run with ./gradlew jmh. They
+// read the metadata fixtures of the tests, src/jmh/resources only holds their own.
+sourceSets {
+    named("jmh") {
+        resources.srcDir("src/test/resources")
+    }
+}
+
+jmh {
+    benchmarkMode.set(listOf("thrpt"))
+    profilers.set(listOf("gc"))
+    warmupIterations.set(2)
+    iterations.set(3)
+    fork.set(1)
+}
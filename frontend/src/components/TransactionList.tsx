@@ -82,7 +82,7 @@ const TransactionList: React.FC<TransactionListProps> = ({ apiUrl = "http://loca
       }
       const data: TransactionListResponse = await response.json();
       setTransactions(data.transactions);
-      setTotalPages(data.total / pageSize);
+      setTotalPages((data.total ?? 0) / pageSize);
       setCurrentPage(page);
     } catch (error) {
       console.error("Failed to fetch transactions:", error);
@@ -1,3 +1,6 @@
 export interface SearchBody {
     organisationId?: string;
+    // EXACT by default, NONE skips counting for infinite scrolling
+    total?: "EXACT" | "ESTIMATED" | "NONE";
+    cursor?: string;
 }
\ No newline at end of file
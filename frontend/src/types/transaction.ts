@@ -18,10 +18,13 @@ export interface Transaction {
 
 export interface TransactionListResponse {
   success: boolean;
-  total: number;
+  total?: number;
+  totalMode?: "EXACT" | "ESTIMATED" | "NONE";
   transactions: Transaction[];
-  page: number;
+  page?: number;
   size: number;
+  hasNext?: boolean;
+  nextCursor?: string;
 }
 
 export interface ReportField {
@@ -0,0 +1,85 @@
+package org.cardanofoundation.reeve.indexer.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.cardanofoundation.reeve.indexer.Fixtures;
+import org.cardanofoundation.reeve.indexer.model.domain.RawMetadata;
+import org.cardanofoundation.reeve.indexer.model.domain.Transaction;
+import org.cardanofoundation.reeve.indexer.model.entity.OrganisationEntity;
+import org.cardanofoundation.reeve.indexer.model.entity.ReportEntity;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionEntity;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionItemEntity;
+import org.cardanofoundation.reeve.indexer.model.view.ExtractionTransactionItemView;
+import org.cardanofoundation.reeve.indexer.model.view.ReportView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Mapping between domain objects, entities and views, fed by the largest transaction payload.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EntityMappingBenchmark {
+
+    private List<Transaction> transactions;
+    private List<TransactionItemEntity> items;
+    private ReportEntity report;
+    private OrganisationEntity organisation;
+
+    @Setup
+    public void setUp() throws IOException {
+        RawMetadata transactionPayload = Fixtures.OBJECT_MAPPER.readValue(
+                Fixtures.read("individual_transactions_max.json"), RawMetadata.class);
+        transactions = (List<Transaction>) transactionPayload.getData();
+        items = new ArrayList<>();
+        transactions.forEach(transaction -> {
+            TransactionEntity entity = transaction.toEntity();
+            entity.setTxHash("a3c1e0f5b7d9f1a3c5e7b9d1f3a5c7e9b1d3f5a7c9e1b3d5f7a9c1e3b5d7f9a1");
+            items.addAll(entity.getItems());
+        });
+
+        RawMetadata reportPayload = Fixtures.OBJECT_MAPPER.readValue(Fixtures.read("report.json"),
+                RawMetadata.class);
+        report = ReportEntity.builder()
+                .organisationId(reportPayload.getOrg().getId())
+                .txHash("b4d2f1a6c8e0a2b4d6f8a0c2e4b6d8f0a2c4e6b8d0f2a4c6e8b0d2f4a6c8e0b2")
+                .interval(reportPayload.getInterval())
+                .year(reportPayload.getYear())
+                .period(reportPayload.getPeriod())
+                .subType(reportPayload.getSubType())
+                .ver(reportPayload.getVer())
+                .fields((String) reportPayload.getData())
+                .build();
+        organisation = OrganisationEntity.builder()
+                .id(reportPayload.getOrg().getId())
+                .name(reportPayload.getOrg().getName())
+                .currencyId(reportPayload.getOrg().getCurrencyId())
+                .build();
+    }
+
+    @Benchmark
+    public void transactionToEntity(Blackhole blackhole) {
+        // Also maps every item through TransactionItem.toEntity
+        for (Transaction transaction : transactions) {
+            blackhole.consume(transaction.toEntity());
+        }
+    }
+
+    @Benchmark
+    public void extractionItemViewFromEntity(Blackhole blackhole) {
+        for (TransactionItemEntity item : items) {
+            blackhole.consume(ExtractionTransactionItemView.fromEntity(item));
+        }
+    }
+
+    @Benchmark
+    public ReportView reportViewFromEntity() {
+        return ReportView.fromEntity(report, organisation);
+    }
+}
@@ -0,0 +1,105 @@
+package org.cardanofoundation.reeve.indexer.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.cardanofoundation.reeve.indexer.Fixtures;
+import org.cardanofoundation.reeve.indexer.model.domain.RawMetadata;
+import org.cardanofoundation.reeve.indexer.model.entity.OrganisationEntity;
+import org.cardanofoundation.reeve.indexer.model.entity.ReportEntity;
+import org.cardanofoundation.reeve.indexer.model.view.ReportView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A report listing of 100 reports from entity to response bytes. The fields either go through a
+ * Map, as ReportView did before, or are embedded as the stored JSON.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReportSerializationBenchmark {
+
+    private static final int REPORTS = 100;
+
+    private List<ReportEntity> reports;
+    private OrganisationEntity organisation;
+
+    @Setup
+    public void setUp() throws IOException {
+        RawMetadata payload = Fixtures.OBJECT_MAPPER.readValue(Fixtures.read("report.json"), RawMetadata.class);
+        String fields = (String) payload.getData();
+        reports = new ArrayList<>();
+        for (int i = 0; i < REPORTS; i++) {
+            reports.add(ReportEntity.builder()
+                    .organisationId(payload.getOrg().getId())
+                    .txHash("b4d2f1a6c8e0a2b4d6f8a0c2e4b6d8f0a2c4e6b8d0f2a4c6e8b0d2f4a6c8e0b2")
+                    .interval(payload.getInterval())
+                    .year(payload.getYear())
+                    .period(i)
+                    .subType(payload.getSubType())
+                    .ver(payload.getVer())
+                    .fields(fields)
+                    .build());
+        }
+        organisation = OrganisationEntity.builder()
+                .id(payload.getOrg().getId())
+                .name(payload.getOrg().getName())
+                .currencyId(payload.getOrg().getCurrencyId())
+                .build();
+    }
+
+    @Benchmark
+    public byte[] mapFields() throws IOException {
+        List<MapReportView> views = new ArrayList<>(REPORTS);
+        for (ReportEntity report : reports) {
+            views.add(new MapReportView(report, organisation,
+                    Fixtures.OBJECT_MAPPER.readValue(report.getFields(), Map.class)));
+        }
+        return Fixtures.OBJECT_MAPPER.writeValueAsBytes(views);
+    }
+
+    @Benchmark
+    public byte[] rawFields() throws IOException {
+        List<ReportView> views = new ArrayList<>(REPORTS);
+        for (ReportEntity report : reports) {
+            views.add(ReportView.fromEntity(report, organisation));
+        }
+        return Fixtures.OBJECT_MAPPER.writeValueAsBytes(views);
+    }
+
+    // ReportView with the fields parsed into a Map per report
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+    public static class MapReportView {
+
+        public final String organisationId;
+        public final String currency;
+        public final String type;
+        public final String blockChainHash;
+        public final String intervalType;
+        public final Integer year;
+        public final Integer period;
+        public final Long ver;
+        public final Map<String, Object> fields;
+
+        MapReportView(ReportEntity entity, OrganisationEntity organisation, Map<String, Object> fields) {
+            this.organisationId = entity.getOrganisationId();
+            this.currency = organisation.getCurrencyId();
+            this.type = entity.getSubType();
+            this.blockChainHash = entity.getTxHash();
+            this.intervalType = entity.getInterval().name();
+            this.year = entity.getYear();
+            this.period = entity.getPeriod();
+            this.ver = entity.getVer();
+            this.fields = fields;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.cardanofoundation.reeve.indexer.util;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.cardanofoundation.reeve.indexer.Fixtures;
+import org.cardanofoundation.reeve.indexer.model.domain.RawMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RawMetadataDeserializerBenchmark {
+
+    @Param({"individual_transactions.json", "individual_transactions_max.json", "report.json"})
+    private String fixture;
+
+    private String body;
+
+    @Setup
+    public void setUp() {
+        body = Fixtures.read(fixture);
+    }
+
+    @Benchmark
+    public RawMetadata deserialize() throws IOException {
+        return Fixtures.OBJECT_MAPPER.readValue(body, RawMetadata.class);
+    }
+}
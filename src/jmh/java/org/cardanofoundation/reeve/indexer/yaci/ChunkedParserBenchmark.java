@@ -0,0 +1,60 @@
+package org.cardanofoundation.reeve.indexer.yaci;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.cardanofoundation.reeve.indexer.Fixtures;
+import org.cardanofoundation.reeve.indexer.model.domain.RawMetadata;
+import org.cardanofoundation.reeve.indexer.util.Gzip;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compresses and parses batches the way CustomMetadataStorage does, on the calling thread and
+ * chunked over virtual threads. The batch size where chunked overtakes sequential is the lower
+ * bound for {@code reeve.ingest.parallel-parse-threshold}.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ChunkedParserBenchmark {
+
+    private static final List<String> FIXTURES = List.of("individual_transactions.json",
+            "report.json", "individual_transactions_max.json");
+
+    @Param({"1", "2", "4", "8", "16", "32", "64", "256"})
+    private int batchSize;
+
+    @Param({"sequential", "chunked"})
+    private String mode;
+
+    private List<String> batch;
+    private MetadataParser metadataParser;
+    private ChunkedParser chunkedParser;
+
+    @Setup
+    public void setUp() {
+        batch = IntStream.range(0, batchSize)
+                .mapToObj(i -> Fixtures.read(FIXTURES.get(i % FIXTURES.size())))
+                .toList();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        metadataParser = new MetadataParser(Fixtures.OBJECT_MAPPER,
+                new OrganisationAllowlist(Set.of(), Fixtures.OBJECT_MAPPER, meterRegistry), meterRegistry);
+        chunkedParser = mode.equals("chunked")
+                ? new ChunkedParser(0, Runtime.getRuntime().availableProcessors())
+                : new ChunkedParser(Integer.MAX_VALUE, 1);
+    }
+
+    @Benchmark
+    public List<RawMetadata> parseBatch() {
+        return chunkedParser.mapAll(batch, body -> {
+            Gzip.compress(body);
+            return metadataParser.parse("tx", 0L, 0L, body);
+        });
+    }
+}
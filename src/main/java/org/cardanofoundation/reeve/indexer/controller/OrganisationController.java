@@ -3,12 +3,14 @@ package org.cardanofoundation.reeve.indexer.controller;
 import java.util.List;
 
 import org.cardanofoundation.reeve.indexer.model.domain.Organisation;
+import org.cardanofoundation.reeve.indexer.service.DataVersionService;
 import org.cardanofoundation.reeve.indexer.service.OrganisationService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,10 +23,14 @@ import lombok.extern.slf4j.Slf4j;
 public class OrganisationController {
 
     private final OrganisationService organisationService;
+    private final DataVersionService dataVersionService;
 
-    // Get all organisations
+    // Get all organisations, 304 while no organisation's data has changed
     @GetMapping
-    public ResponseEntity<List<Organisation>> getAllOrganisations() {
+    public ResponseEntity<List<Organisation>> getAllOrganisations(ServletWebRequest request) {
+        if (request.checkNotModified(dataVersionService.etag(null, request.getRequest().getRequestURI()))) {
+            return null;
+        }
         log.info("Fetching all organisations");
         List<Organisation> organisations = organisationService.getAllOrganisations();
         return ResponseEntity.ok(organisations);
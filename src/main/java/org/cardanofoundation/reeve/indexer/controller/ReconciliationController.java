@@ -0,0 +1,87 @@
+package org.cardanofoundation.reeve.indexer.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.reeve.indexer.model.request.ReconciliationSearchRequest;
+import org.cardanofoundation.reeve.indexer.model.view.ReconciliationResponseView;
+import org.cardanofoundation.reeve.indexer.service.DataVersionService;
+import org.cardanofoundation.reeve.indexer.service.OrganisationService;
+import org.cardanofoundation.reeve.indexer.service.ReconciliationService;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+@RestController
+@RequestMapping("/api/v1/reconciliations")
+@RequiredArgsConstructor
+@Slf4j
+public class ReconciliationController {
+
+        private final ReconciliationService reconciliationService;
+        private final OrganisationService organisationService;
+        private final DataVersionService dataVersionService;
+
+        @Tag(name = "Public", description = "Extraction search")
+        @PostMapping(produces = "application/json", consumes = "application/json")
+        @Operation(description = "Published report figures compared with the transaction items of the report's "
+                        + "accounting periods - Public interface", responses = {
+                        @ApiResponse(content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = ReconciliationResponseView.class)) }) })
+        public ResponseEntity<ReconciliationResponseView> reconciliationSearchPublicInterface(
+                        @Valid @RequestBody ReconciliationSearchRequest reconciliationSearchRequest) {
+                return search(reconciliationSearchRequest);
+        }
+
+        @Tag(name = "Public", description = "Extraction search")
+        @GetMapping(produces = "application/json")
+        @Operation(description = "Report figures compared with the items, with the filters as query parameters, "
+                        + "answers 304 while the organisation's data has not changed - Public interface", responses = {
+                        @ApiResponse(content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = ReconciliationResponseView.class)) }) })
+        public ResponseEntity<ReconciliationResponseView> reconciliationSearchPublicInterfaceGet(
+                        @Valid @ParameterObject ReconciliationSearchRequest reconciliationSearchRequest,
+                        ServletWebRequest request) {
+                // Nothing is read when the client already has the current response
+                String organisationId = reconciliationSearchRequest.getOrganisationId();
+                if (organisationService.findById(organisationId).isPresent()
+                                && request.checkNotModified(dataVersionService.etag(organisationId,
+                                                request.getRequest().getRequestURI(),
+                                                request.getRequest().getQueryString()))) {
+                        return null;
+                }
+                return search(reconciliationSearchRequest);
+        }
+
+        private ResponseEntity<ReconciliationResponseView> search(
+                        ReconciliationSearchRequest reconciliationSearchRequest) {
+                if (organisationService.findById(reconciliationSearchRequest.getOrganisationId()).isEmpty()) {
+                        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND,
+                                        "Unable to find Organisation by Id: %s"
+                                                        .formatted(reconciliationSearchRequest.getOrganisationId()));
+                        problemDetail.setTitle("ORGANISATION_NOT_FOUND");
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                        .body(ReconciliationResponseView.createFail(problemDetail));
+                }
+
+                return ResponseEntity.ok().body(ReconciliationResponseView.createSuccess(reconciliationService.find(
+                                reconciliationSearchRequest.getOrganisationId(),
+                                reconciliationSearchRequest.getReportType(),
+                                reconciliationSearchRequest.getIntervalType(),
+                                reconciliationSearchRequest.getYear(),
+                                reconciliationSearchRequest.getPeriod(),
+                                reconciliationSearchRequest.getStatus())));
+        }
+}
@@ -12,8 +12,10 @@ import org.cardanofoundation.reeve.indexer.model.entity.OrganisationEntity;
 import org.cardanofoundation.reeve.indexer.model.request.ReportSearchRequest;
 import org.cardanofoundation.reeve.indexer.model.view.ReportResponseView;
 import org.cardanofoundation.reeve.indexer.model.view.ReportView;
+import org.cardanofoundation.reeve.indexer.service.DataVersionService;
 import org.cardanofoundation.reeve.indexer.service.OrganisationService;
 import org.cardanofoundation.reeve.indexer.service.ReportService;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +25,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +38,7 @@ public class ReportController {
 
         private final ReportService reportService;
         private final OrganisationService organisationService;
+        private final DataVersionService dataVersionService;
 
         @Operation(description = "Search transactions items published", responses = {
                         @ApiResponse(content = {
@@ -44,6 +48,30 @@ public class ReportController {
         @PostMapping(produces = "application/json")
         public ResponseEntity<ReportResponseView> reportSearchPublicInterface(
                         @Valid @RequestBody ReportSearchRequest reportSearchRequest) {
+                return search(reportSearchRequest);
+        }
+
+        @Operation(description = "Search reports published with the filters as query parameters, answers 304 "
+                        + "while the organisation's data has not changed", responses = {
+                        @ApiResponse(content = {
+                                        @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ReportResponseView.class)))
+                        })
+        })
+        @GetMapping(produces = "application/json")
+        public ResponseEntity<ReportResponseView> reportSearchPublicInterfaceGet(
+                        @Valid @ParameterObject ReportSearchRequest reportSearchRequest, ServletWebRequest request) {
+                // Nothing is searched when the client already has the current response
+                String organisationId = reportSearchRequest.getOrganisationId();
+                if ((organisationId == null || organisationService.findById(organisationId).isPresent())
+                                && request.checkNotModified(dataVersionService.etag(organisationId,
+                                                request.getRequest().getRequestURI(),
+                                                request.getRequest().getQueryString()))) {
+                        return null;
+                }
+                return search(reportSearchRequest);
+        }
+
+        private ResponseEntity<ReportResponseView> search(ReportSearchRequest reportSearchRequest) {
                 if (reportSearchRequest.getOrganisationId() != null) {
                         Optional<OrganisationEntity> orgO = organisationService
                                         .findById(reportSearchRequest.getOrganisationId());
@@ -63,7 +91,8 @@ public class ReportController {
                                 reportSearchRequest.getReportType(),
                                 reportSearchRequest.getIntervalType(),
                                 reportSearchRequest.getYear(),
-                                reportSearchRequest.getPeriod())));
+                                reportSearchRequest.getPeriod(),
+                                reportSearchRequest.isIncludeHistory())));
         }
 
 }
@@ -0,0 +1,84 @@
+package org.cardanofoundation.reeve.indexer.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.reeve.indexer.model.request.RollupSearchRequest;
+import org.cardanofoundation.reeve.indexer.model.view.RollupResponseView;
+import org.cardanofoundation.reeve.indexer.service.DataVersionService;
+import org.cardanofoundation.reeve.indexer.service.OrganisationService;
+import org.cardanofoundation.reeve.indexer.service.RollupService;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+@RestController
+@RequestMapping("/api/v1/rollups")
+@RequiredArgsConstructor
+@Slf4j
+public class RollupController {
+
+        private final RollupService rollupService;
+        private final OrganisationService organisationService;
+        private final DataVersionService dataVersionService;
+
+        @Tag(name = "Public", description = "Extraction search")
+        @PostMapping(produces = "application/json", consumes = "application/json")
+        @Operation(description = "Totals of the transaction items per accounting period and event code, cost "
+                        + "center, project or currency - Public interface", responses = {
+                        @ApiResponse(content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = RollupResponseView.class)) }) })
+        public ResponseEntity<RollupResponseView> rollupSearchPublicInterface(
+                        @Valid @RequestBody RollupSearchRequest rollupSearchRequest) {
+                return search(rollupSearchRequest);
+        }
+
+        @Tag(name = "Public", description = "Extraction search")
+        @GetMapping(produces = "application/json")
+        @Operation(description = "Totals of the transaction items with the filters as query parameters, answers "
+                        + "304 while the organisation's data has not changed - Public interface", responses = {
+                        @ApiResponse(content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = RollupResponseView.class)) }) })
+        public ResponseEntity<RollupResponseView> rollupSearchPublicInterfaceGet(
+                        @Valid @ParameterObject RollupSearchRequest rollupSearchRequest, ServletWebRequest request) {
+                // Nothing is read when the client already has the current response
+                String organisationId = rollupSearchRequest.getOrganisationId();
+                if (organisationService.findById(organisationId).isPresent()
+                                && request.checkNotModified(dataVersionService.etag(organisationId,
+                                                request.getRequest().getRequestURI(),
+                                                request.getRequest().getQueryString()))) {
+                        return null;
+                }
+                return search(rollupSearchRequest);
+        }
+
+        private ResponseEntity<RollupResponseView> search(RollupSearchRequest rollupSearchRequest) {
+                if (organisationService.findById(rollupSearchRequest.getOrganisationId()).isEmpty()) {
+                        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND,
+                                        "Unable to find Organisation by Id: %s"
+                                                        .formatted(rollupSearchRequest.getOrganisationId()));
+                        problemDetail.setTitle("ORGANISATION_NOT_FOUND");
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                        .body(RollupResponseView.createFail(problemDetail));
+                }
+
+                return ResponseEntity.ok().body(RollupResponseView.createSuccess(rollupService.find(
+                                rollupSearchRequest.getOrganisationId(),
+                                rollupSearchRequest.getDimension(),
+                                rollupSearchRequest.getAccountingPeriodFrom(),
+                                rollupSearchRequest.getAccountingPeriodTo(),
+                                rollupSearchRequest.getValues())));
+        }
+}
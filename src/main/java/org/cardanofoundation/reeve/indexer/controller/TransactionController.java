@@ -6,23 +6,39 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import java.time.Duration;
+import java.util.Objects;
 import java.util.Optional;
+import org.cardanofoundation.reeve.indexer.model.domain.ItemCursor;
 import org.cardanofoundation.reeve.indexer.model.entity.OrganisationEntity;
+import org.cardanofoundation.reeve.indexer.model.request.ExportFormat;
+import org.cardanofoundation.reeve.indexer.model.request.TotalMode;
 import org.cardanofoundation.reeve.indexer.model.request.TransactionsSearchRequest;
 import org.cardanofoundation.reeve.indexer.model.view.ExtractionTransactionView;
+import org.cardanofoundation.reeve.indexer.service.DataVersionService;
 import org.cardanofoundation.reeve.indexer.service.OrganisationService;
+import org.cardanofoundation.reeve.indexer.service.TransactionExportService;
 import org.cardanofoundation.reeve.indexer.service.TransactionService;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.ErrorResponseException;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 @RestController
 @RequestMapping("/api/v1/transactions")
@@ -32,6 +48,12 @@ public class TransactionController {
 
         private final TransactionService transactionService;
         private final OrganisationService organisationService;
+        private final TransactionExportService transactionExportService;
+        private final DataVersionService dataVersionService;
+
+        // Exports run far longer than any other request, only they get this async timeout
+        @Value("${reeve.export.timeout:2h}")
+        private Duration exportTimeout;
 
         @Tag(name = "Public", description = "Extraction search")
         @PostMapping(produces = "application/json", consumes = "application/json")
@@ -41,6 +63,35 @@ public class TransactionController {
         public ResponseEntity<ExtractionTransactionView> transactionSearchPublicInterface(
                         @Valid @RequestBody TransactionsSearchRequest transactionsRequest,
                         Pageable pageable) {
+                return search(transactionsRequest, pageable);
+        }
+
+        @Tag(name = "Public", description = "Extraction search")
+        @GetMapping(produces = "application/json")
+        @Operation(description = "Search transactions items published with the filters as query parameters, "
+                        + "answers 304 while the organisation's data has not changed - Public interface", responses = {
+                        @ApiResponse(content = {
+                                        @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ExtractionTransactionView.class))) }) })
+        public ResponseEntity<ExtractionTransactionView> transactionSearchPublicInterfaceGet(
+                        @Valid @ParameterObject TransactionsSearchRequest transactionsRequest,
+                        @ParameterObject Pageable pageable, ServletWebRequest request) {
+                // Nothing is searched when the client already has the current response
+                if (isKnownOrganisation(transactionsRequest.getOrganisationId())
+                                && request.checkNotModified(dataVersionService.etag(
+                                                transactionsRequest.getOrganisationId(),
+                                                request.getRequest().getRequestURI(),
+                                                request.getRequest().getQueryString()))) {
+                        return null;
+                }
+                return search(transactionsRequest, pageable);
+        }
+
+        private boolean isKnownOrganisation(String organisationId) {
+                return organisationId == null || organisationService.findById(organisationId).isPresent();
+        }
+
+        private ResponseEntity<ExtractionTransactionView> search(TransactionsSearchRequest transactionsRequest,
+                        Pageable pageable) {
                 if (transactionsRequest.getOrganisationId() != null) {
                         Optional<OrganisationEntity> orgM = organisationService
                                         .findById(transactionsRequest.getOrganisationId());
@@ -56,6 +107,30 @@ public class TransactionController {
                         }
                 }
 
+                if (transactionsRequest.getCursor() != null) {
+                        ItemCursor cursor;
+                        try {
+                                cursor = transactionsRequest.getCursor().isEmpty() ? null
+                                                : ItemCursor.decode(transactionsRequest.getCursor());
+                        } catch (IllegalArgumentException e) {
+                                ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                                                HttpStatus.BAD_REQUEST, e.getMessage());
+                                problemDetail.setTitle("INVALID_CURSOR");
+                                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                                .body(ExtractionTransactionView.createFail(problemDetail));
+                        }
+                        return ResponseEntity.ok().body(transactionService.findTransactionItemsAfter(
+                                        transactionsRequest.getOrganisationId(),
+                                        transactionsRequest.getDateFrom(), transactionsRequest.getDateTo(),
+                                        transactionsRequest.getEvents(),
+                                        transactionsRequest.getCurrency(),
+                                        transactionsRequest.getMinAmount(),
+                                        transactionsRequest.getMaxAmount(),
+                                        transactionsRequest.getTransactionHashes(),
+                                        Objects.requireNonNullElse(transactionsRequest.getTotal(), TotalMode.NONE),
+                                        cursor, pageable.getPageSize()));
+                }
+
                 return ResponseEntity.ok().body(transactionService.findTransactionItems(
                                 transactionsRequest.getOrganisationId(),
                                 transactionsRequest.getDateFrom(), transactionsRequest.getDateTo(),
@@ -63,7 +138,42 @@ public class TransactionController {
                                 transactionsRequest.getCurrency(),
                                 transactionsRequest.getMinAmount(),
                                 transactionsRequest.getMaxAmount(),
-                                transactionsRequest.getTransactionHashes(), pageable));
+                                transactionsRequest.getTransactionHashes(),
+                                Objects.requireNonNullElse(transactionsRequest.getTotal(), TotalMode.EXACT),
+                                pageable));
         }
 
+        @Tag(name = "Public", description = "Extraction search")
+        @PostMapping(path = "/export", consumes = "application/json")
+        @Operation(description = "Export all transaction items matching the search as NDJSON or CSV, "
+                        + "paging and the total of the search request are ignored - Public interface")
+        public WebAsyncTask<Void> transactionExportPublicInterface(
+                        @Valid @RequestBody TransactionsSearchRequest transactionsRequest,
+                        @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                        HttpServletResponse response) {
+                if (transactionsRequest.getOrganisationId() != null
+                                && organisationService.findById(transactionsRequest.getOrganisationId()).isEmpty()) {
+                        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND,
+                                        "Unable to find Organisation by Id: %s".formatted(
+                                                        transactionsRequest.getOrganisationId()));
+                        problemDetail.setTitle("ORGANISATION_NOT_FOUND");
+                        throw new ErrorResponseException(HttpStatus.NOT_FOUND, problemDetail, null);
+                }
+
+                return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+                        response.setContentType(format.getMediaType());
+                        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions.%s\""
+                                        .formatted(format.name().toLowerCase()));
+                        transactionExportService.export(
+                                        transactionsRequest.getOrganisationId(),
+                                        transactionsRequest.getDateFrom(), transactionsRequest.getDateTo(),
+                                        transactionsRequest.getEvents(),
+                                        transactionsRequest.getCurrency(),
+                                        transactionsRequest.getMinAmount(),
+                                        transactionsRequest.getMaxAmount(),
+                                        transactionsRequest.getTransactionHashes(),
+                                        format, response.getOutputStream());
+                        return null;
+                });
+        }
 }
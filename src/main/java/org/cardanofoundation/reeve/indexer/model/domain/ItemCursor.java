@@ -0,0 +1,46 @@
+package org.cardanofoundation.reeve.indexer.model.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionItemEntity;
+import org.cardanofoundation.reeve.indexer.model.view.ExtractionTransactionItemView;
+
+/**
+ * Position of an item in the keyset order of the transaction search, the transaction date, the
+ * transaction id and the item id. Clients only see it as an opaque token.
+ */
+public record ItemCursor(LocalDate date, String transactionId, String itemId) {
+
+    private static final String SEPARATOR = "\n";
+
+    public static ItemCursor of(TransactionItemEntity item) {
+        return new ItemCursor(item.getTransaction().getDate(), item.getTransaction().getId(), item.getId());
+    }
+
+    public static ItemCursor of(ExtractionTransactionItemView item) {
+        return new ItemCursor(item.getEntryDate(), item.getTransactionId(), item.getId());
+    }
+
+    public String encode() {
+        String key = String.join(SEPARATOR, date.toString(), transactionId, itemId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not created by {@link #encode()}
+     */
+    public static ItemCursor decode(String token) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = key.split(SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed cursor: " + token);
+            }
+            return new ItemCursor(LocalDate.parse(parts[0]), parts[1], parts[2]);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+}
@@ -19,6 +19,8 @@ import java.util.List;
 public class RawMetadata {
 
     private String txHash;
+    private Long slot;
+    private Long blockNumber;
 
     private Organisation org;
     private Long ver;
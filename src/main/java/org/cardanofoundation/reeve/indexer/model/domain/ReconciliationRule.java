@@ -0,0 +1,12 @@
+package org.cardanofoundation.reeve.indexer.model.domain;
+
+import java.util.List;
+
+/**
+ * A figure of a report type that has to equal the items of some event codes in the report's
+ * accounting periods, configured under {@code reeve.reconciliation.rules}. The field is the
+ * dot separated path of the figure in the report's fields, events with a leading {@code -} are
+ * subtracted.
+ */
+public record ReconciliationRule(String reportType, String field, List<String> events) {
+}
@@ -0,0 +1,11 @@
+package org.cardanofoundation.reeve.indexer.model.domain;
+
+/**
+ * Outcome of comparing a report figure with the items, see ReconciliationService.
+ */
+public enum ReconciliationStatus {
+    MATCHED,
+    MISMATCHED,
+    // The report has no number at the figure's path
+    NOT_REPORTED;
+}
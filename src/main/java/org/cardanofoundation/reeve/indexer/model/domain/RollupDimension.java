@@ -0,0 +1,19 @@
+package org.cardanofoundation.reeve.indexer.model.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The item columns the rollups are summed by, see RollupRepository.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RollupDimension {
+    EVENT("event_code"),
+    COST_CENTER("costcenter_cust_code"),
+    PROJECT("project_cust_code"),
+    CURRENCY("currency");
+
+    // Column of reeve_transaction_item
+    private final String column;
+}
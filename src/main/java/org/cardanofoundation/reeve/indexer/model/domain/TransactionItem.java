@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.cardanofoundation.reeve.indexer.model.entity.TransactionItemEntity;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
 @Getter
@@ -16,6 +17,10 @@ import java.util.Optional;
 @Builder
 public class TransactionItem {
 
+        // The digits a PostgreSQL numeric holds before and after the decimal point
+        public static final int NUMERIC_INTEGER_DIGITS = 131_072;
+        public static final int NUMERIC_FRACTION_DIGITS = 16_383;
+
         private String id;
         private String amount;
         private String fxRate;
@@ -27,6 +32,7 @@ public class TransactionItem {
 
         public TransactionItemEntity toEntity() {
                 return TransactionItemEntity.builder().id(id).amount(amount).fxRate(fxRate)
+                                .amountValue(toDecimal(amount)).fxRateValue(toDecimal(fxRate))
                                 .documentNumber(Optional.ofNullable(document)
                                                 .map(Document::getNumber).orElse(null))
                                 .currency(Optional.ofNullable(document).map(Document::getCurrency)
@@ -50,4 +56,18 @@ public class TransactionItem {
                                 .build();
         }
 
+        // Values that are not numbers, or too large or too fine for a numeric, are kept as text only
+        private static BigDecimal toDecimal(String value) {
+                if (value == null) {
+                        return null;
+                }
+                try {
+                        BigDecimal decimal = new BigDecimal(value.trim());
+                        return decimal.precision() - decimal.scale() <= NUMERIC_INTEGER_DIGITS
+                                        && decimal.scale() <= NUMERIC_FRACTION_DIGITS ? decimal : null;
+                } catch (NumberFormatException e) {
+                        return null;
+                }
+        }
+
 }
@@ -0,0 +1,51 @@
+package org.cardanofoundation.reeve.indexer.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.cardanofoundation.reeve.indexer.model.domain.Interval;
+
+/**
+ * Points to the highest published version of every report. Written by the ingest path only, see
+ * CurrentReportRepository.
+ */
+@Entity
+@Table(name = "reeve_report_current", indexes = {
+        @Index(name = "idx_reeve_report_current_lookup", columnList = "organisation_id, sub_type, interval, year, period"),
+        @Index(name = "idx_reeve_report_current_slot", columnList = "slot")})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class CurrentReportEntity {
+
+    @Id
+    private String reportKey;
+
+    @Column(name = "report_id", nullable = false)
+    private Long reportId;
+
+    private Long ver;
+
+    private String organisationId;
+
+    private String subType;
+
+    @Enumerated(EnumType.STRING)
+    private Interval interval;
+
+    private Integer year;
+
+    private Integer period;
+
+    // Slot of the current version, a rollback above it has to fall back to an older version
+    private Long slot;
+}
@@ -0,0 +1,33 @@
+package org.cardanofoundation.reeve.indexer.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * The one row that tells the data versions of this database apart from those of any other, or
+ * of this one before its data was replaced. Written by DataVersionRepository only, it is not
+ * part of a snapshot.
+ */
+@Entity
+@Table(name = "reeve_data_epoch")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class DataEpochEntity {
+
+    // Always 1
+    @Id
+    @Column(name = "id", nullable = false)
+    private Integer id;
+
+    // Random, drawn again whenever the data is replaced as a whole
+    @Column(name = "epoch", nullable = false)
+    private Long epoch;
+}
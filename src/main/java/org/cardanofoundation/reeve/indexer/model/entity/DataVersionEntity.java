@@ -0,0 +1,35 @@
+package org.cardanofoundation.reeve.indexer.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counts the changes to the rows of an organisation, the API derives its ETags from it. Written
+ * by the ingest path only, see DataVersionRepository.
+ */
+@Entity
+@Table(name = "reeve_data_version")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class DataVersionEntity {
+
+    @Id
+    @Column(name = "organisation_id", nullable = false)
+    private String organisationId;
+
+    // Only ever grows, also when rows are rolled back
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Slot of the last change
+    @Column(name = "slot")
+    private Long slot;
+}
@@ -0,0 +1,39 @@
+package org.cardanofoundation.reeve.indexer.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Append-only copy of every label 1447 body as received from the chain, gzip compressed.
+ */
+@Entity
+@Table(name = "reeve_metadata_journal", uniqueConstraints = @UniqueConstraint(columnNames = "tx_hash"),
+        indexes = @Index(name = "idx_reeve_metadata_journal_slot", columnList = "slot"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class MetadataJournalEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "tx_hash", nullable = false)
+    private String txHash;
+    @Column(name = "slot", nullable = false)
+    private Long slot;
+    @Column(name = "block_number")
+    private Long blockNumber;
+    @Column(name = "body", nullable = false)
+    private byte[] body;
+}
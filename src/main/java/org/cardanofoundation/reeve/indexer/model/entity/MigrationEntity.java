@@ -0,0 +1,31 @@
+package org.cardanofoundation.reeve.indexer.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A one-shot data migration that has run on this database, so it is not run again on the next
+ * start. See TransactionBulkRepository.backfillDecimals.
+ */
+@Entity
+@Table(name = "reeve_migration")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class MigrationEntity {
+
+    @Id
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "applied_at", nullable = false)
+    private Instant appliedAt;
+}
@@ -2,6 +2,7 @@ package org.cardanofoundation.reeve.indexer.model.entity;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,7 +10,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "reeve_organisation")
+@Table(name = "reeve_organisation", indexes = @Index(name = "idx_reeve_organisation_slot", columnList = "slot"))
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -22,4 +23,7 @@ public class OrganisationEntity {
     private String currencyId;
     private String countryCode;
     private String taxIdNumber;
+    // Slot of the first payload that introduced the organisation
+    private Long slot;
+    private Long blockNumber;
 }
@@ -0,0 +1,90 @@
+package org.cardanofoundation.reeve.indexer.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.cardanofoundation.reeve.indexer.model.domain.Interval;
+import org.cardanofoundation.reeve.indexer.model.domain.ReconciliationStatus;
+
+/**
+ * A figure of the current version of a report compared with the items of its accounting
+ * periods. Written by ReconciliationService whenever the report or the items of one of its
+ * periods change, see ReconciliationRepository.
+ */
+@Entity
+@Table(name = "reeve_reconciliation", indexes = {
+        @Index(name = "idx_reeve_reconciliation_lookup", columnList = "organisation_id, sub_type, interval, year, period")})
+@IdClass(ReconciliationEntity.Key.class)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class ReconciliationEntity {
+
+    @Id
+    @Column(name = "report_key", nullable = false)
+    private String reportKey;
+
+    @Id
+    @Column(name = "field", nullable = false)
+    private String field;
+
+    @Column(name = "report_id", nullable = false)
+    private Long reportId;
+
+    private Long ver;
+
+    @Column(name = "organisation_id", nullable = false)
+    private String organisationId;
+
+    private String subType;
+
+    @Enumerated(EnumType.STRING)
+    private Interval interval;
+
+    private Integer year;
+
+    private Integer period;
+
+    // Null when the report has no number at the field
+    @Column(name = "reported", columnDefinition = "numeric")
+    private BigDecimal reported;
+
+    @Column(name = "computed", nullable = false, columnDefinition = "numeric")
+    private BigDecimal computed;
+
+    @Column(name = "difference", columnDefinition = "numeric")
+    private BigDecimal difference;
+
+    // Items summed into the computed figure
+    @Column(name = "items", nullable = false)
+    private Long items;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ReconciliationStatus status;
+
+    @Column(name = "checked_at", nullable = false)
+    private Instant checkedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String reportKey;
+        private String field;
+    }
+}
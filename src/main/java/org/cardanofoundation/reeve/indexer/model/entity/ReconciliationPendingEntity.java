@@ -0,0 +1,44 @@
+package org.cardanofoundation.reeve.indexer.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * An accounting period of an organisation whose items or reports changed since its reports
+ * were last reconciled. Queued in the transaction that changes them, taken off the queue by
+ * ReconciliationService.
+ */
+@Entity
+@Table(name = "reeve_reconciliation_pending")
+@IdClass(ReconciliationPendingEntity.Key.class)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class ReconciliationPendingEntity {
+
+    @Id
+    @Column(name = "organisation_id", nullable = false)
+    private String organisationId;
+
+    @Id
+    @Column(name = "accounting_period", nullable = false)
+    private String accountingPeriod;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String organisationId;
+        private String accountingPeriod;
+    }
+}
@@ -7,6 +7,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -17,9 +18,13 @@ import lombok.NoArgsConstructor;
 import org.cardanofoundation.reeve.indexer.model.domain.Interval;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
+import java.util.Objects;
 
 @Entity
-@Table(name = "reeve_reports")
+@Table(name = "reeve_reports", indexes = {
+        @Index(name = "idx_reeve_reports_slot", columnList = "slot"),
+        @Index(name = "idx_reeve_reports_report_key", columnList = "report_key, ver"),
+        @Index(name = "idx_reeve_reports_lookup", columnList = "organisation_id, sub_type, interval, year, period")})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -49,4 +54,21 @@ public class ReportEntity {
 
     @Column(name = "organisation_id", nullable = false)
     private String organisationId;
+
+    private Long slot;
+
+    private Long blockNumber;
+
+    // All versions of the same report share this key, see reportKey
+    private String reportKey;
+
+    /**
+     * Identifies a report independent of its version, null parts are kept as empty strings so the
+     * key can be unique.
+     */
+    public static String reportKey(String organisationId, String subType, Interval interval,
+            Integer year, Integer period) {
+        return String.join("|", Objects.toString(organisationId, ""), Objects.toString(subType, ""),
+                Objects.toString(interval, ""), Objects.toString(year, ""), Objects.toString(period, ""));
+    }
 }
@@ -0,0 +1,66 @@
+package org.cardanofoundation.reeve.indexer.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.cardanofoundation.reeve.indexer.model.domain.RollupDimension;
+
+/**
+ * The items of an organisation's accounting period summed by one dimension value, kept up to
+ * date by the ingest path in the transaction that writes the items, see RollupRepository.
+ * Items without a value for the dimension are summed under an empty value.
+ */
+@Entity
+@Table(name = "reeve_rollup")
+@IdClass(RollupEntity.Key.class)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class RollupEntity {
+
+    @Id
+    @Column(name = "organisation_id", nullable = false)
+    private String organisationId;
+
+    @Id
+    @Column(name = "accounting_period", nullable = false)
+    private String accountingPeriod;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", nullable = false)
+    private RollupDimension dimension;
+
+    @Id
+    @Column(name = "dimension_value", nullable = false)
+    private String dimensionValue;
+
+    // Sum of the amounts in the organisation's currency, items whose amount is no number add nothing
+    @Column(name = "amount", nullable = false, columnDefinition = "numeric")
+    private BigDecimal amount;
+
+    @Column(name = "items", nullable = false)
+    private Long items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String organisationId;
+        private String accountingPeriod;
+        private RollupDimension dimension;
+        private String dimensionValue;
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -20,7 +21,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "reeve_transactions")
+@Table(name = "reeve_transactions", indexes = {
+        @Index(name = "idx_reeve_transactions_slot", columnList = "slot"),
+        @Index(name = "idx_reeve_transactions_organisation_date", columnList = "organisation_id, date"),
+        @Index(name = "idx_reeve_transactions_date_id", columnList = "date, id"),
+        @Index(name = "idx_reeve_transactions_tx_hash", columnList = "tx_hash")})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -50,6 +55,11 @@ public class TransactionEntity {
     @Column(name = "organisation_id", nullable = false)
     private String organisationId;
 
+    @Column(name = "slot")
+    private Long slot;
+    @Column(name = "block_number")
+    private Long blockNumber;
+
     public void addItem(TransactionItemEntity item) {
         items.add(item);
         item.setTransaction(this);
@@ -4,6 +4,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -12,9 +13,15 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import java.math.BigDecimal;
 
 @Entity
-@Table(name = "reeve_transaction_item")
+@Table(name = "reeve_transaction_item", indexes = {
+        @Index(name = "idx_reeve_transaction_item_slot", columnList = "slot"),
+        @Index(name = "idx_reeve_transaction_item_transaction", columnList = "transaction_id"),
+        @Index(name = "idx_reeve_transaction_item_event_currency", columnList = "event_code, currency"),
+        @Index(name = "idx_reeve_transaction_item_currency", columnList = "currency"),
+        @Index(name = "idx_reeve_transaction_item_amount_value", columnList = "amount_value")})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -29,6 +36,11 @@ public class TransactionItemEntity {
     private String amount;
     @Column(name = "fx_rate", nullable = false)
     private String fxRate;
+    // Numeric copies for filtering, amount and fxRate keep the values exactly as published
+    @Column(name = "amount_value", columnDefinition = "numeric")
+    private BigDecimal amountValue;
+    @Column(name = "fx_rate_value", columnDefinition = "numeric")
+    private BigDecimal fxRateValue;
     @Column(name = "document_number")
     private String documentNumber;
     @Column(name = "currency")
@@ -53,6 +65,10 @@ public class TransactionItemEntity {
     private String counterPartyType;
     @Column(name = "counterparty_cust_code")
     private String counterPartyCustCode;
+    @Column(name = "slot")
+    private Long slot;
+    @Column(name = "block_number")
+    private Long blockNumber;
 
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "transaction_id", referencedColumnName = "id")
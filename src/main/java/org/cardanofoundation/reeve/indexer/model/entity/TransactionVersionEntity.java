@@ -0,0 +1,64 @@
+package org.cardanofoundation.reeve.indexer.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * A stored version of a transaction that a later slot published again, with its items. A
+ * rollback below that later slot puts it back, see RollbackRepository. Written by
+ * TransactionBulkRepository only.
+ */
+@Entity
+@Table(name = "reeve_transaction_version", indexes = {
+        @Index(name = "idx_reeve_transaction_version_slot", columnList = "slot"),
+        @Index(name = "idx_reeve_transaction_version_superseded_slot", columnList = "superseded_slot")})
+@IdClass(TransactionVersionEntity.Key.class)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class TransactionVersionEntity {
+
+    @Id
+    @Column(name = "transaction_id", nullable = false)
+    private String transactionId;
+
+    // Slot this version was published in
+    @Id
+    @Column(name = "slot", nullable = false)
+    private Long slot;
+
+    // Slot of the version that replaced it
+    @Column(name = "superseded_slot", nullable = false)
+    private Long supersededSlot;
+
+    // The reeve_transactions row
+    @Column(name = "transaction", nullable = false, columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String transaction;
+
+    // The reeve_transaction_item rows
+    @Column(name = "items", nullable = false, columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String transactionId;
+        private Long slot;
+    }
+}
@@ -0,0 +1,111 @@
+package org.cardanofoundation.reeve.indexer.model.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import org.cardanofoundation.reeve.indexer.model.entity.ReportEntity;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains reeve_report_current, which points to the highest version of every report. A
+ * pointer only moves forward, so a republished report replaces the old one in the same
+ * transaction that stores it, while a late older version leaves it alone.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class CurrentReportRepository {
+
+    private static final String UPSERT = """
+            INSERT INTO reeve_report_current (report_key, report_id, ver, organisation_id, sub_type, interval,
+                year, period, slot)
+            SELECT * FROM unnest(?::varchar[], ?::bigint[], ?::bigint[], ?::varchar[], ?::varchar[], ?::varchar[],
+                ?::integer[], ?::integer[], ?::bigint[])
+            ON CONFLICT (report_key) DO UPDATE SET
+                report_id = EXCLUDED.report_id,
+                ver = EXCLUDED.ver,
+                slot = EXCLUDED.slot
+            WHERE (coalesce(EXCLUDED.ver, 0), EXCLUDED.report_id)
+                > (coalesce(reeve_report_current.ver, 0), reeve_report_current.report_id)
+            """;
+
+    private static final String BACKFILL_KEYS = """
+            UPDATE reeve_reports SET report_key = concat_ws('|', coalesce(organisation_id, ''),
+                coalesce(sub_type, ''), coalesce(interval, ''), coalesce(year::text, ''), coalesce(period::text, ''))
+            WHERE report_key IS NULL
+            """;
+
+    private static final String BACKFILL_CURRENT = """
+            INSERT INTO reeve_report_current (report_key, report_id, ver, organisation_id, sub_type, interval,
+                year, period, slot)
+            SELECT DISTINCT ON (report_key) report_key, id, ver, organisation_id, sub_type, interval, year, period, slot
+            FROM reeve_reports
+            ORDER BY report_key, coalesce(ver, 0) DESC, id DESC
+            ON CONFLICT (report_key) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Points every key to the given report if it is newer than the current one. The reports
+     * need their id assigned already.
+     */
+    public void saveAll(Collection<ReportEntity> reports) {
+        if (reports.isEmpty()) {
+            return;
+        }
+        // One row per key and statement, the newest of the batch wins
+        Map<String, ReportEntity> newest = new TreeMap<>();
+        reports.forEach(report -> newest.merge(report.getReportKey(), report,
+                (current, candidate) -> isNewer(candidate, current) ? candidate : current));
+
+        jdbcTemplate.update(UPSERT, ps -> {
+            Collection<ReportEntity> rows = newest.values();
+            bindColumn(ps, 1, rows, ReportEntity::getReportKey);
+            bindColumn(ps, 2, rows, ReportEntity::getId);
+            bindColumn(ps, 3, rows, ReportEntity::getVer);
+            bindColumn(ps, 4, rows, ReportEntity::getOrganisationId);
+            bindColumn(ps, 5, rows, ReportEntity::getSubType);
+            bindColumn(ps, 6, rows, ReportEntity::getInterval);
+            bindColumn(ps, 7, rows, ReportEntity::getYear);
+            bindColumn(ps, 8, rows, ReportEntity::getPeriod);
+            bindColumn(ps, 9, rows, ReportEntity::getSlot);
+        });
+    }
+
+    /**
+     * Reports stored before the current report table existed get their key and pointer here.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int keyed = jdbcTemplate.update(BACKFILL_KEYS);
+        if (keyed > 0) {
+            int current = jdbcTemplate.update(BACKFILL_CURRENT);
+            log.info("Backfilled report keys of {} reports, {} current reports", keyed, current);
+        }
+    }
+
+    private static boolean isNewer(ReportEntity candidate, ReportEntity current) {
+        long candidateVer = Objects.requireNonNullElse(candidate.getVer(), 0L);
+        long currentVer = Objects.requireNonNullElse(current.getVer(), 0L);
+        return candidateVer != currentVer ? candidateVer > currentVer : candidate.getId() > current.getId();
+    }
+
+    // Values travel as text and are cast to the column type by the statement
+    private static <T> void bindColumn(PreparedStatement ps, int index, Collection<T> rows,
+            Function<T, ?> column) throws SQLException {
+        String[] values = rows.stream().map(column)
+                .map(value -> Objects.toString(value, null))
+                .toArray(String[]::new);
+        ps.setArray(index, ps.getConnection().createArrayOf("varchar", values));
+    }
+}
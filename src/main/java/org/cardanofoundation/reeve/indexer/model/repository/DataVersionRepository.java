@@ -0,0 +1,96 @@
+package org.cardanofoundation.reeve.indexer.model.repository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maintains reeve_data_version. Every change to an organisation's rows, and every rollback that
+ * removes some of them, moves its version forward. A version is never reused within an epoch,
+ * so a version seen once with the epoch always stands for the same data. The epoch is random and
+ * drawn again when the data is replaced as a whole, see reeve_data_epoch.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DataVersionRepository {
+
+    private static final String INCREMENT = """
+            INSERT INTO reeve_data_version (organisation_id, version, slot)
+            SELECT id, 1, slot FROM unnest(?::varchar[], ?::bigint[]) AS changed(id, slot)
+            ON CONFLICT (organisation_id) DO UPDATE SET
+                version = reeve_data_version.version + 1,
+                slot = greatest(reeve_data_version.slot, EXCLUDED.slot)
+            RETURNING organisation_id, version
+            """;
+
+    // The last change is at most at the slot rolled back to
+    private static final String INCREMENT_ABOVE = """
+            UPDATE reeve_data_version SET version = version + 1, slot = ?
+            WHERE slot > ?
+            RETURNING organisation_id, version
+            """;
+
+    private static final String NEW_EPOCH = """
+            INSERT INTO reeve_data_epoch (id, epoch) VALUES (1, (random() * 9.2e18)::bigint)
+            ON CONFLICT (id) DO %s
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The epoch of the database, drawn on the first call.
+     */
+    public long epoch() {
+        jdbcTemplate.update(NEW_EPOCH.formatted("NOTHING"));
+        return jdbcTemplate.queryForObject("SELECT epoch FROM reeve_data_epoch WHERE id = 1", Long.class);
+    }
+
+    /**
+     * Draws a new epoch and returns it.
+     */
+    public long newEpoch() {
+        jdbcTemplate.update(NEW_EPOCH.formatted("UPDATE SET epoch = EXCLUDED.epoch"));
+        return jdbcTemplate.queryForObject("SELECT epoch FROM reeve_data_epoch WHERE id = 1", Long.class);
+    }
+
+    /**
+     * Increments the versions of the organisations, each with the slot of its newest change.
+     * Callers pass them sorted by id so concurrent writers lock in the same order. Returns the
+     * new versions.
+     */
+    public Map<String, Long> increment(SortedMap<String, Long> slots) {
+        Map<String, Long> versions = new HashMap<>();
+        if (slots.isEmpty()) {
+            return versions;
+        }
+        jdbcTemplate.query(INCREMENT, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("varchar", slots.keySet().toArray()));
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", slots.values().toArray()));
+        }, collect(versions));
+        return versions;
+    }
+
+    /**
+     * Increments the versions of the organisations that changed after the slot. Returns the new
+     * versions.
+     */
+    public Map<String, Long> incrementAbove(long slot) {
+        Map<String, Long> versions = new HashMap<>();
+        jdbcTemplate.query(INCREMENT_ABOVE, collect(versions), slot, slot);
+        return versions;
+    }
+
+    public Map<String, Long> findAll() {
+        Map<String, Long> versions = new HashMap<>();
+        jdbcTemplate.query("SELECT organisation_id, version FROM reeve_data_version", collect(versions));
+        return versions;
+    }
+
+    private static RowCallbackHandler collect(Map<String, Long> versions) {
+        return resultSet -> versions.put(resultSet.getString(1), resultSet.getLong(2));
+    }
+}
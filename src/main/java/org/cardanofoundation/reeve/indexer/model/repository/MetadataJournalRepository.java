@@ -0,0 +1,54 @@
+package org.cardanofoundation.reeve.indexer.model.repository;
+
+import java.util.List;
+import org.cardanofoundation.reeve.indexer.model.entity.MetadataJournalEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Appends to and pages through the metadata journal. Re-delivered transactions are ignored, a
+ * transaction carries at most one body per label.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MetadataJournalRepository {
+
+    private static final String APPEND = """
+            INSERT INTO reeve_metadata_journal (tx_hash, slot, block_number, body)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (tx_hash) DO NOTHING
+            """;
+
+    private static final String FIND_AFTER = """
+            SELECT id, tx_hash, slot, block_number, body FROM reeve_metadata_journal
+            WHERE id > ? ORDER BY id LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void saveAll(List<MetadataJournalEntity> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(APPEND, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.getTxHash());
+            ps.setLong(2, entry.getSlot());
+            ps.setObject(3, entry.getBlockNumber());
+            ps.setBytes(4, entry.getBody());
+        });
+    }
+
+    /**
+     * Returns up to {@code limit} entries with an id greater than {@code afterId}, in journal order.
+     */
+    public List<MetadataJournalEntity> findAfter(long afterId, int limit) {
+        return jdbcTemplate.query(FIND_AFTER, (rs, rowNum) -> MetadataJournalEntity.builder()
+                .id(rs.getLong("id"))
+                .txHash(rs.getString("tx_hash"))
+                .slot(rs.getLong("slot"))
+                .blockNumber(rs.getObject("block_number", Long.class))
+                .body(rs.getBytes("body"))
+                .build(), afterId, limit);
+    }
+}
@@ -0,0 +1,46 @@
+package org.cardanofoundation.reeve.indexer.model.repository;
+
+import java.util.Collection;
+import org.cardanofoundation.reeve.indexer.model.entity.OrganisationEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Registers several organisations with a single statement. Callers pass them sorted by id so
+ * concurrent inserts of the same keys always lock in the same order.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrganisationBulkRepository {
+
+    private static final String INSERT_IF_NOT_EXISTS = """
+            INSERT INTO reeve_organisation (id, name, currency_id, country_code, tax_id_number, slot, block_number)
+            SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::bigint[], ?::bigint[])
+            ON CONFLICT (id) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int saveAllIfNotExists(Collection<OrganisationEntity> organisations) {
+        if (organisations.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(INSERT_IF_NOT_EXISTS, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("varchar",
+                    organisations.stream().map(OrganisationEntity::getId).toArray()));
+            ps.setArray(2, ps.getConnection().createArrayOf("varchar",
+                    organisations.stream().map(OrganisationEntity::getName).toArray()));
+            ps.setArray(3, ps.getConnection().createArrayOf("varchar",
+                    organisations.stream().map(OrganisationEntity::getCurrencyId).toArray()));
+            ps.setArray(4, ps.getConnection().createArrayOf("varchar",
+                    organisations.stream().map(OrganisationEntity::getCountryCode).toArray()));
+            ps.setArray(5, ps.getConnection().createArrayOf("varchar",
+                    organisations.stream().map(OrganisationEntity::getTaxIdNumber).toArray()));
+            ps.setArray(6, ps.getConnection().createArrayOf("bigint",
+                    organisations.stream().map(OrganisationEntity::getSlot).toArray()));
+            ps.setArray(7, ps.getConnection().createArrayOf("bigint",
+                    organisations.stream().map(OrganisationEntity::getBlockNumber).toArray()));
+        });
+    }
+}
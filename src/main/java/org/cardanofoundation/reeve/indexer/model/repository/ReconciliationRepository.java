@@ -0,0 +1,208 @@
+package org.cardanofoundation.reeve.indexer.model.repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.cardanofoundation.reeve.indexer.model.domain.Interval;
+import org.cardanofoundation.reeve.indexer.model.domain.ReconciliationStatus;
+import org.cardanofoundation.reeve.indexer.model.entity.ReconciliationEntity;
+import org.cardanofoundation.reeve.indexer.model.view.ReconciliationView;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maintains reeve_reconciliation and its queue reeve_reconciliation_pending. The rollups queue
+ * every period whose sums they change, see RollupRepository, new and rolled back reports queue
+ * the periods they cover. A report covers one month, the three of its quarter or the twelve of
+ * its year, formatted like the accounting periods of the transactions.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReconciliationRepository {
+
+    private static final String REPORT_PERIODS = """
+            SELECT DISTINCT c.organisation_id, c.year || '-' || lpad(m::text, 2, '0')
+            FROM reeve_report_current c
+            CROSS JOIN LATERAL generate_series(
+                CASE c.interval WHEN 'MONTH' THEN c.period WHEN 'QUARTER' THEN 3 * c.period - 2 ELSE 1 END,
+                CASE c.interval WHEN 'MONTH' THEN c.period WHEN 'QUARTER' THEN 3 * c.period ELSE 12 END) AS m
+            WHERE c.year IS NOT NULL AND %s
+            """;
+
+    // Periods are queued in key order, so parallel writers can't deadlock on them. A period that is
+    // queued already is locked by the no-op update, a claim deleting it waits for the writer's
+    // commit and reads its sums, DO NOTHING would let the claim take it without them.
+    static final String ON_CONFLICT_LOCK = """
+            ON CONFLICT (organisation_id, accounting_period)
+                DO UPDATE SET accounting_period = EXCLUDED.accounting_period""";
+
+    private static final String QUEUE = """
+            INSERT INTO reeve_reconciliation_pending (organisation_id, accounting_period)
+            %s
+            ORDER BY 1, 2
+            """ + ON_CONFLICT_LOCK;
+
+    private static final String FIND_REPORTS = """
+            SELECT c.report_key, c.report_id, c.ver, c.sub_type, c.interval, c.year, c.period, r.fields::text
+            FROM reeve_report_current c JOIN reeve_reports r ON r.id = c.report_id
+            WHERE c.organisation_id = ? AND c.sub_type = ANY(?) AND c.year = ANY(?)
+            ORDER BY c.report_key
+            """;
+
+    private static final String INSERT = """
+            INSERT INTO reeve_reconciliation (report_key, field, report_id, ver, organisation_id, sub_type, interval,
+                year, period, reported, computed, difference, items, status, checked_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Queues the periods the current versions of the reports cover.
+     */
+    public void queueReports(Collection<String> reportKeys) {
+        if (!reportKeys.isEmpty()) {
+            jdbcTemplate.update(QUEUE.formatted(REPORT_PERIODS.formatted("c.report_key = ANY(?::varchar[])")),
+                    (Object) reportKeys.toArray(String[]::new));
+        }
+    }
+
+    /**
+     * Drops the results of the current reports written above the slot and queues their periods,
+     * so the versions that remain are checked again. Runs before the reports are rolled back.
+     */
+    public void rollBackAbove(long slot) {
+        jdbcTemplate.update("""
+                DELETE FROM reeve_reconciliation
+                WHERE report_key IN (SELECT report_key FROM reeve_report_current WHERE slot > ?)
+                """, slot);
+        jdbcTemplate.update(QUEUE.formatted(REPORT_PERIODS.formatted("c.slot > ?")), slot);
+    }
+
+    /**
+     * Queues every period with items or reports. Returns the number of queued periods.
+     */
+    public int queueAll() {
+        return jdbcTemplate.update(QUEUE.formatted("""
+                SELECT organisation_id, accounting_period FROM reeve_rollup
+                UNION
+                """ + REPORT_PERIODS.formatted("TRUE")));
+    }
+
+    public boolean isEmpty() {
+        return !jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM reeve_reconciliation)", Boolean.class);
+    }
+
+    public List<String> findPendingOrganisations() {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT organisation_id FROM reeve_reconciliation_pending ORDER BY 1", String.class);
+    }
+
+    /**
+     * Takes the queued periods of the organisation off the queue. They return to it if the
+     * surrounding transaction rolls back.
+     */
+    public Set<String> claim(String organisationId) {
+        Set<String> periods = new TreeSet<>();
+        jdbcTemplate.query("""
+                DELETE FROM reeve_reconciliation_pending WHERE organisation_id = ?
+                RETURNING accounting_period
+                """, resultSet -> {
+            periods.add(resultSet.getString(1));
+        }, organisationId);
+        return periods;
+    }
+
+    /**
+     * The current versions of the organisation's reports of the types and years, with their
+     * fields.
+     */
+    public List<Report> findReports(String organisationId, Collection<String> reportTypes,
+            Collection<Integer> years) {
+        return jdbcTemplate.query(FIND_REPORTS, (resultSet, row) -> new Report(resultSet.getString(1),
+                resultSet.getLong(2), resultSet.getObject(3, Long.class), resultSet.getString(4),
+                resultSet.getString(5) == null ? null : Interval.valueOf(resultSet.getString(5)),
+                resultSet.getObject(6, Integer.class), resultSet.getObject(7, Integer.class),
+                resultSet.getString(8)), organisationId, reportTypes.toArray(String[]::new),
+                years.toArray(Integer[]::new));
+    }
+
+    /**
+     * Replaces all results of the reports with the given ones.
+     */
+    public void replace(Collection<String> reportKeys, List<ReconciliationEntity> results) {
+        jdbcTemplate.update("DELETE FROM reeve_reconciliation WHERE report_key = ANY(?)",
+                (Object) reportKeys.toArray(String[]::new));
+        jdbcTemplate.batchUpdate(INSERT, results, results.size(), (ps, result) -> {
+            ps.setString(1, result.getReportKey());
+            ps.setString(2, result.getField());
+            ps.setLong(3, result.getReportId());
+            ps.setObject(4, result.getVer());
+            ps.setString(5, result.getOrganisationId());
+            ps.setString(6, result.getSubType());
+            ps.setString(7, result.getInterval() == null ? null : result.getInterval().name());
+            ps.setObject(8, result.getYear());
+            ps.setObject(9, result.getPeriod());
+            ps.setBigDecimal(10, result.getReported());
+            ps.setBigDecimal(11, result.getComputed());
+            ps.setBigDecimal(12, result.getDifference());
+            ps.setLong(13, result.getItems());
+            ps.setString(14, result.getStatus().name());
+            ps.setTimestamp(15, Timestamp.from(result.getCheckedAt()));
+        });
+    }
+
+    /**
+     * The results of the organisation, optionally of one report type, interval, year, period
+     * and status. Ordered by report and field.
+     */
+    public List<ReconciliationView> find(String organisationId, String reportType, Interval interval,
+            Integer year, Integer period, ReconciliationStatus status) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT sub_type, interval, year, period, ver, field, reported, computed, difference, items, status,
+                    checked_at
+                FROM reeve_reconciliation
+                WHERE organisation_id = ?""");
+        List<Object> parameters = new ArrayList<>(List.of(organisationId));
+        if (reportType != null) {
+            sql.append(" AND sub_type = ?");
+            parameters.add(reportType);
+        }
+        if (interval != null) {
+            sql.append(" AND interval = ?");
+            parameters.add(interval.name());
+        }
+        if (year != null) {
+            sql.append(" AND year = ?");
+            parameters.add(year);
+        }
+        if (period != null) {
+            sql.append(" AND period = ?");
+            parameters.add(period);
+        }
+        if (status != null) {
+            sql.append(" AND status = ?");
+            parameters.add(status.name());
+        }
+        sql.append(" ORDER BY sub_type, interval, year, period, field");
+        return jdbcTemplate.query(sql.toString(), (resultSet, row) -> new ReconciliationView(
+                resultSet.getString(1),
+                resultSet.getString(2) == null ? null : Interval.valueOf(resultSet.getString(2)),
+                resultSet.getObject(3, Integer.class), resultSet.getObject(4, Integer.class),
+                resultSet.getObject(5, Long.class), resultSet.getString(6), resultSet.getBigDecimal(7),
+                resultSet.getBigDecimal(8), resultSet.getBigDecimal(9), resultSet.getLong(10),
+                ReconciliationStatus.valueOf(resultSet.getString(11)),
+                resultSet.getTimestamp(12).toInstant()), parameters.toArray());
+    }
+
+    /**
+     * The current version of a report as it is reconciled.
+     */
+    public record Report(String reportKey, long reportId, Long ver, String subType, Interval interval,
+            Integer year, Integer period, String fields) {
+    }
+}
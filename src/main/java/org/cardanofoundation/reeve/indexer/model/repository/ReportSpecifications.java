@@ -0,0 +1,68 @@
+package org.cardanofoundation.reeve.indexer.model.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Subquery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.cardanofoundation.reeve.indexer.model.domain.Interval;
+import org.cardanofoundation.reeve.indexer.model.entity.CurrentReportEntity;
+import org.cardanofoundation.reeve.indexer.model.entity.ReportEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Builds the report searches from the filters that are actually supplied, see
+ * TransactionItemSpecifications.
+ */
+public final class ReportSpecifications {
+
+    private ReportSpecifications() {
+    }
+
+    /**
+     * All versions of the matching reports.
+     */
+    public static Specification<ReportEntity> history(String organisationId, String subType,
+            Interval interval, Short year, Short period) {
+        return (root, query, cb) -> cb.and(filters(cb, root::get, organisationId, subType, interval, year, period));
+    }
+
+    /**
+     * Only the newest version of the matching reports. The filters go to reeve_report_current,
+     * the reports are then fetched by id.
+     */
+    public static Specification<ReportEntity> current(String organisationId, String subType,
+            Interval interval, Short year, Short period) {
+        return (root, query, cb) -> {
+            Subquery<Long> current = query.subquery(Long.class);
+            var c = current.from(CurrentReportEntity.class);
+            current.select(c.get("reportId"))
+                    .where(filters(cb, c::get, organisationId, subType, interval, year, period));
+            return root.get("id").in(current);
+        };
+    }
+
+    private static Predicate[] filters(CriteriaBuilder cb, Function<String, Path<Object>> column,
+            String organisationId, String subType, Interval interval, Short year, Short period) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (organisationId != null) {
+            predicates.add(cb.equal(column.apply("organisationId"), organisationId));
+        }
+        if (subType != null) {
+            predicates.add(cb.equal(column.apply("subType"), subType));
+        }
+        if (interval != null) {
+            predicates.add(cb.equal(column.apply("interval"), interval));
+        }
+        // year and period are integer columns
+        if (year != null) {
+            predicates.add(cb.equal(column.apply("year"), year.intValue()));
+        }
+        if (period != null) {
+            predicates.add(cb.equal(column.apply("period"), period.intValue()));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+}
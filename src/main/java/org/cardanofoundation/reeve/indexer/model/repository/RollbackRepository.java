@@ -0,0 +1,77 @@
+package org.cardanofoundation.reeve.indexer.model.repository;
+
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Removes everything that was written above a slot when the chain rolls back. Each table is
+ * cleared with one statement on its slot index, so the cost follows the number of rolled back
+ * rows and not the size of the table. Items go first as they reference their transaction.
+ * Current reports that are rolled back fall back to the newest version that remains and are
+ * queued for reconciliation, the items are taken out of the rollups before they are deleted.
+ * Transactions that the rolled back blocks published again get back the version they had at
+ * the slot, from reeve_transaction_version, and its items go back into the rollups.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RollbackRepository {
+
+    private static final String REPOINT_CURRENT_REPORTS = """
+            UPDATE reeve_report_current c SET report_id = r.id, ver = r.ver, slot = r.slot
+            FROM (
+                SELECT DISTINCT ON (report_key) report_key, id, ver, slot FROM reeve_reports
+                WHERE report_key IN (SELECT report_key FROM reeve_report_current WHERE slot > ?)
+                AND slot <= ?
+                ORDER BY report_key, coalesce(ver, 0) DESC, id DESC
+            ) r
+            WHERE c.report_key = r.report_key
+            """;
+
+    // The versions that were current at the slot and replaced above it
+    private static final String RESTORE_TRANSACTIONS = """
+            INSERT INTO reeve_transactions
+            SELECT t.* FROM reeve_transaction_version v,
+                jsonb_populate_record(NULL::reeve_transactions, v.transaction) t
+            WHERE v.superseded_slot > ? AND v.slot <= ?
+            RETURNING id
+            """;
+
+    private static final String RESTORE_ITEMS = """
+            INSERT INTO reeve_transaction_item
+            SELECT i.* FROM reeve_transaction_version v,
+                jsonb_populate_recordset(NULL::reeve_transaction_item, v.items) i
+            WHERE v.superseded_slot > ? AND v.slot <= ?
+            """;
+
+    private static final List<String> TABLES = List.of(
+            "reeve_report_current",
+            "reeve_transaction_item",
+            "reeve_transactions",
+            "reeve_reports",
+            "reeve_organisation",
+            "reeve_metadata_journal");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RollupRepository rollupRepository;
+    private final ReconciliationRepository reconciliationRepository;
+
+    public int deleteBySlotGreaterThan(long slot) {
+        rollupRepository.removeAbove(slot);
+        reconciliationRepository.rollBackAbove(slot);
+        jdbcTemplate.update(REPOINT_CURRENT_REPORTS, slot, slot);
+        int deleted = 0;
+        for (String table : TABLES) {
+            deleted += jdbcTemplate.update("DELETE FROM " + table + " WHERE slot > ?", slot);
+        }
+        List<String> restored = jdbcTemplate.queryForList(RESTORE_TRANSACTIONS, String.class, slot, slot);
+        if (!restored.isEmpty()) {
+            jdbcTemplate.update(RESTORE_ITEMS, slot, slot);
+            rollupRepository.add(restored);
+        }
+        // Restored versions are current again, the ones above the slot belonged to the fork
+        jdbcTemplate.update("DELETE FROM reeve_transaction_version WHERE superseded_slot > ?", slot);
+        return deleted;
+    }
+}
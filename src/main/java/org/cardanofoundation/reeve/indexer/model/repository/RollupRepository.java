@@ -0,0 +1,173 @@
+package org.cardanofoundation.reeve.indexer.model.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.cardanofoundation.reeve.indexer.model.domain.RollupDimension;
+import org.cardanofoundation.reeve.indexer.model.view.RollupView;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maintains reeve_rollup, the sums of the items per organisation, accounting period and value of
+ * every dimension. The ingest path takes the items of the transactions it writes out of the sums
+ * before the write and adds them back after it, in the same transaction, so re-delivered items
+ * and transactions that move to another period are counted once. Rolled back items are taken
+ * out before they are deleted. A query reads only the sums, its cost does not depend on the
+ * number of items. Every period whose sums change is queued for reconciliation, see
+ * ReconciliationRepository.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RollupRepository {
+
+    // Every item once per dimension, with the value it is summed under
+    private static final String AGGREGATE = """
+            SELECT t.organisation_id, coalesce(t.accounting_period, '') AS accounting_period, d.dimension,
+                coalesce(d.dimension_value, '') AS dimension_value, coalesce(sum(i.amount_value), 0) AS amount,
+                count(*) AS items
+            FROM reeve_transaction_item i
+            JOIN reeve_transactions t ON t.id = i.transaction_id
+            CROSS JOIN LATERAL (VALUES %s) AS d(dimension, dimension_value)
+            WHERE %%s
+            GROUP BY 1, 2, 3, 4
+            """.formatted(Arrays.stream(RollupDimension.values())
+            .map(dimension -> "('%s', i.%s)".formatted(dimension.name(), dimension.getColumn()))
+            .collect(Collectors.joining(", ")));
+
+    // Rows are locked in key order, so parallel writers can't deadlock on them
+    private static final String APPLY = """
+            WITH applied AS (
+                INSERT INTO reeve_rollup (organisation_id, accounting_period, dimension, dimension_value, amount, items)
+                SELECT organisation_id, accounting_period, dimension, dimension_value, ? * amount, ? * items
+                FROM (%%s) a
+                ORDER BY 1, 2, 3, 4
+                ON CONFLICT (organisation_id, accounting_period, dimension, dimension_value) DO UPDATE SET
+                    amount = reeve_rollup.amount + EXCLUDED.amount,
+                    items = reeve_rollup.items + EXCLUDED.items
+                RETURNING organisation_id, accounting_period, dimension, dimension_value, items
+            ), queued AS (
+                INSERT INTO reeve_reconciliation_pending (organisation_id, accounting_period)
+                SELECT DISTINCT organisation_id, accounting_period FROM applied
+                ORDER BY 1, 2
+                %s
+            )
+            SELECT * FROM applied
+            """.formatted(ReconciliationRepository.ON_CONFLICT_LOCK);
+
+    private static final String DELETE_EMPTY = """
+            DELETE FROM reeve_rollup r
+            USING unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[]) AS k(o, p, d, v)
+            WHERE r.organisation_id = k.o AND r.accounting_period = k.p AND r.dimension = k.d
+                AND r.dimension_value = k.v AND r.items = 0
+            """;
+
+    private static final String MISMATCHES = """
+            SELECT count(*) FROM (%s) a
+            FULL JOIN reeve_rollup r USING (organisation_id, accounting_period, dimension, dimension_value)
+            WHERE a.items IS DISTINCT FROM r.items OR a.amount IS DISTINCT FROM r.amount
+            """.formatted(AGGREGATE.formatted("TRUE"));
+
+    private static final String TRANSACTIONS = "i.transaction_id = ANY(?::varchar[])";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the items of the transactions to the sums.
+     */
+    public void add(Collection<String> transactionIds) {
+        if (!transactionIds.isEmpty()) {
+            apply(1, TRANSACTIONS, transactionIds.toArray(String[]::new));
+        }
+    }
+
+    /**
+     * Takes the items of the transactions out of the sums, sums without items are deleted.
+     */
+    public void remove(Collection<String> transactionIds) {
+        if (!transactionIds.isEmpty()) {
+            apply(-1, TRANSACTIONS, transactionIds.toArray(String[]::new));
+        }
+    }
+
+    /**
+     * Takes the items written above the slot out of the sums.
+     */
+    public void removeAbove(long slot) {
+        apply(-1, "i.slot > ?", slot);
+    }
+
+    /**
+     * The sums of the organisation, optionally of one dimension, a range of accounting periods
+     * and some values. Ordered by period, dimension and value.
+     */
+    public List<RollupView> find(String organisationId, RollupDimension dimension, String accountingPeriodFrom,
+            String accountingPeriodTo, Collection<String> values) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT accounting_period, dimension, dimension_value, amount, items FROM reeve_rollup
+                WHERE organisation_id = ?""");
+        List<Object> parameters = new ArrayList<>(List.of(organisationId));
+        if (dimension != null) {
+            sql.append(" AND dimension = ?");
+            parameters.add(dimension.name());
+        }
+        if (accountingPeriodFrom != null) {
+            sql.append(" AND accounting_period >= ?");
+            parameters.add(accountingPeriodFrom);
+        }
+        if (accountingPeriodTo != null) {
+            sql.append(" AND accounting_period <= ?");
+            parameters.add(accountingPeriodTo);
+        }
+        if (values != null && !values.isEmpty()) {
+            sql.append(" AND dimension_value = ANY(?)");
+            parameters.add(values.toArray(String[]::new));
+        }
+        sql.append(" ORDER BY accounting_period, dimension, dimension_value");
+        return jdbcTemplate.query(sql.toString(), (resultSet, row) -> new RollupView(resultSet.getString(1),
+                RollupDimension.valueOf(resultSet.getString(2)), resultSet.getString(3),
+                resultSet.getBigDecimal(4), resultSet.getLong(5)), parameters.toArray());
+    }
+
+    /**
+     * Computes all sums from the items again. Other writers wait until the surrounding
+     * transaction ends. Returns the number of sums.
+     */
+    public int rebuild() {
+        jdbcTemplate.execute("LOCK TABLE reeve_rollup IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM reeve_rollup");
+        return jdbcTemplate.update("""
+                INSERT INTO reeve_rollup (organisation_id, accounting_period, dimension, dimension_value, amount, items)
+                """ + AGGREGATE.formatted("TRUE"));
+    }
+
+    /**
+     * The number of sums that differ from the items, missing and surplus ones included.
+     */
+    public long countMismatches() {
+        return jdbcTemplate.queryForObject(MISMATCHES, Long.class);
+    }
+
+    private void apply(int sign, String condition, Object parameter) {
+        List<String[]> empty = new ArrayList<>();
+        jdbcTemplate.query(APPLY.formatted(AGGREGATE.formatted(condition)), resultSet -> {
+            if (resultSet.getLong(5) == 0) {
+                empty.add(new String[] {resultSet.getString(1), resultSet.getString(2), resultSet.getString(3),
+                        resultSet.getString(4)});
+            }
+        }, sign, sign, parameter);
+        if (empty.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(DELETE_EMPTY, ps -> {
+            for (int column = 0; column < 4; column++) {
+                int index = column;
+                ps.setArray(column + 1, ps.getConnection().createArrayOf("varchar",
+                        empty.stream().map(key -> key[index]).toArray()));
+            }
+        });
+    }
+}
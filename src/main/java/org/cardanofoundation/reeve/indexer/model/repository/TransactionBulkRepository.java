@@ -0,0 +1,210 @@
+package org.cardanofoundation.reeve.indexer.model.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import org.cardanofoundation.reeve.indexer.model.domain.TransactionItem;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionEntity;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionItemEntity;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes transactions and their items with one statement per table instead of going through
+ * JPA merge, which issues a SELECT for every assigned id before inserting it.
+ * Rows are passed as column arrays and expanded with unnest, so the number of round trips does
+ * not depend on the batch size. Re-delivered rows overwrite the stored ones like merge did, and
+ * the items a re-delivered transaction no longer carries are deleted like orphanRemoval did.
+ * A transaction published again in a later slot keeps its stored version with its items in
+ * reeve_transaction_version, a rollback to a slot between the two restores it.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionBulkRepository {
+
+    private static final String KEEP_VERSIONS = """
+            INSERT INTO reeve_transaction_version (transaction_id, slot, superseded_slot, transaction, items)
+            SELECT t.id, t.slot, n.slot, to_jsonb(t), (
+                SELECT coalesce(jsonb_agg(to_jsonb(i)), '[]') FROM reeve_transaction_item i WHERE i.transaction_id = t.id)
+            FROM reeve_transactions t
+            JOIN unnest(?::varchar[], ?::bigint[]) AS n(id, slot) ON n.id = t.id
+            WHERE t.slot < n.slot
+            ON CONFLICT (transaction_id, slot) DO NOTHING
+            """;
+
+    private static final String UPSERT_TRANSACTIONS = """
+            INSERT INTO reeve_transactions (id, tx_hash, number, accounting_period, batch_id, type, date, organisation_id,
+                slot, block_number)
+            SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::date[], ?::varchar[],
+                ?::bigint[], ?::bigint[])
+            ON CONFLICT (id) DO UPDATE SET
+                tx_hash = EXCLUDED.tx_hash,
+                number = EXCLUDED.number,
+                accounting_period = EXCLUDED.accounting_period,
+                batch_id = EXCLUDED.batch_id,
+                type = EXCLUDED.type,
+                date = EXCLUDED.date,
+                organisation_id = EXCLUDED.organisation_id,
+                slot = EXCLUDED.slot,
+                block_number = EXCLUDED.block_number
+            """;
+
+    private static final String UPSERT_ITEMS = """
+            INSERT INTO reeve_transaction_item (id, amount, fx_rate, document_number, currency, costcenter_name,
+                costcenter_cust_code, vat_rate, vat_cust_code, event_code, event_name, project_cust_code, project_name,
+                counterparty_type, counterparty_cust_code, transaction_id, slot, block_number, amount_value, fx_rate_value)
+            SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[],
+                ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[],
+                ?::varchar[], ?::varchar[], ?::varchar[], ?::bigint[], ?::bigint[], ?::numeric[], ?::numeric[])
+            ON CONFLICT (id) DO UPDATE SET
+                amount = EXCLUDED.amount,
+                fx_rate = EXCLUDED.fx_rate,
+                document_number = EXCLUDED.document_number,
+                currency = EXCLUDED.currency,
+                costcenter_name = EXCLUDED.costcenter_name,
+                costcenter_cust_code = EXCLUDED.costcenter_cust_code,
+                vat_rate = EXCLUDED.vat_rate,
+                vat_cust_code = EXCLUDED.vat_cust_code,
+                event_code = EXCLUDED.event_code,
+                event_name = EXCLUDED.event_name,
+                project_cust_code = EXCLUDED.project_cust_code,
+                project_name = EXCLUDED.project_name,
+                counterparty_type = EXCLUDED.counterparty_type,
+                counterparty_cust_code = EXCLUDED.counterparty_cust_code,
+                transaction_id = EXCLUDED.transaction_id,
+                slot = EXCLUDED.slot,
+                block_number = EXCLUDED.block_number,
+                amount_value = EXCLUDED.amount_value,
+                fx_rate_value = EXCLUDED.fx_rate_value
+            """;
+
+    private static final String DELETE_DROPPED_ITEMS = """
+            DELETE FROM reeve_transaction_item
+            WHERE transaction_id = ANY(?::varchar[]) AND NOT (id = ANY(?::varchar[]))
+            """;
+
+    // A number within the digits of a numeric, the same values TransactionItem converts
+    private static final String FITS_NUMERIC = """
+            (%1$s ~ '^\\s*[-+]?([0-9]+\\.?[0-9]*|\\.[0-9]+)([eE][-+]?[0-9]{1,9})?\\s*$' AND (
+                SELECT length(ltrim(p[1] || p[2], '0')) - length(p[2]) + coalesce(p[3]::int, 0) <= %2$d
+                    AND length(p[2]) - coalesce(p[3]::int, 0) <= %3$d
+                FROM regexp_match(%1$s, '^\\s*[-+]?([0-9]*)\\.?([0-9]*)(?:[eE]([-+]?[0-9]{1,9}))?\\s*$') AS m(p)))""";
+
+    // Items stored before the numeric columns existed, text that is no number stays NULL
+    private static final String BACKFILL_DECIMALS = """
+            UPDATE reeve_transaction_item SET
+                amount_value = CASE WHEN %1$s THEN trim(amount)::numeric END,
+                fx_rate_value = CASE WHEN %2$s THEN trim(fx_rate)::numeric END
+            WHERE (amount_value IS NULL AND %1$s) OR (fx_rate_value IS NULL AND %2$s)
+            """.formatted(fitsNumeric("amount"), fitsNumeric("fx_rate"));
+
+    static final String BACKFILL_DECIMALS_MIGRATION = "transaction-item-decimals";
+
+    private static final String MARK_MIGRATION = """
+            INSERT INTO reeve_migration (name, applied_at) VALUES (?, now())
+            ON CONFLICT (name) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void saveAll(List<TransactionEntity> transactionEntities) {
+        if (transactionEntities.isEmpty()) {
+            return;
+        }
+        // A statement may not touch the same key twice, the last delivery wins with its items.
+        // Sorting by id keeps the lock order stable between parallel writers.
+        Map<String, TransactionEntity> transactions = new TreeMap<>();
+        transactionEntities.forEach(transaction -> transactions.put(transaction.getId(), transaction));
+        Map<String, TransactionItemEntity> items = new TreeMap<>();
+        transactions.values().forEach(transaction ->
+                transaction.getItems().forEach(item -> items.put(item.getId(), item)));
+
+        jdbcTemplate.update(KEEP_VERSIONS, ps -> {
+            bindColumn(ps, 1, transactions.values(), TransactionEntity::getId);
+            bindColumn(ps, 2, transactions.values(), TransactionEntity::getSlot);
+        });
+        jdbcTemplate.update(UPSERT_TRANSACTIONS, ps -> {
+            Collection<TransactionEntity> rows = transactions.values();
+            bindColumn(ps, 1, rows, TransactionEntity::getId);
+            bindColumn(ps, 2, rows, TransactionEntity::getTxHash);
+            bindColumn(ps, 3, rows, TransactionEntity::getNumber);
+            bindColumn(ps, 4, rows, TransactionEntity::getAccountingPeriod);
+            bindColumn(ps, 5, rows, TransactionEntity::getBatchId);
+            bindColumn(ps, 6, rows, TransactionEntity::getType);
+            bindColumn(ps, 7, rows, TransactionEntity::getDate);
+            bindColumn(ps, 8, rows, TransactionEntity::getOrganisationId);
+            bindColumn(ps, 9, rows, TransactionEntity::getSlot);
+            bindColumn(ps, 10, rows, TransactionEntity::getBlockNumber);
+        });
+        jdbcTemplate.update(DELETE_DROPPED_ITEMS, ps -> {
+            bindColumn(ps, 1, transactions.keySet(), Function.identity());
+            bindColumn(ps, 2, items.keySet(), Function.identity());
+        });
+        if (items.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(UPSERT_ITEMS, ps -> {
+            Collection<TransactionItemEntity> rows = items.values();
+            bindColumn(ps, 1, rows, TransactionItemEntity::getId);
+            bindColumn(ps, 2, rows, TransactionItemEntity::getAmount);
+            bindColumn(ps, 3, rows, TransactionItemEntity::getFxRate);
+            bindColumn(ps, 4, rows, TransactionItemEntity::getDocumentNumber);
+            bindColumn(ps, 5, rows, TransactionItemEntity::getCurrency);
+            bindColumn(ps, 6, rows, TransactionItemEntity::getCostCenterName);
+            bindColumn(ps, 7, rows, TransactionItemEntity::getCostCenterCustCode);
+            bindColumn(ps, 8, rows, TransactionItemEntity::getVatRate);
+            bindColumn(ps, 9, rows, TransactionItemEntity::getVatCustCode);
+            bindColumn(ps, 10, rows, TransactionItemEntity::getEventCode);
+            bindColumn(ps, 11, rows, TransactionItemEntity::getEventName);
+            bindColumn(ps, 12, rows, TransactionItemEntity::getProjectCustCode);
+            bindColumn(ps, 13, rows, TransactionItemEntity::getProjectName);
+            bindColumn(ps, 14, rows, TransactionItemEntity::getCounterPartyType);
+            bindColumn(ps, 15, rows, TransactionItemEntity::getCounterPartyCustCode);
+            bindColumn(ps, 16, rows, item -> item.getTransaction().getId());
+            bindColumn(ps, 17, rows, TransactionItemEntity::getSlot);
+            bindColumn(ps, 18, rows, TransactionItemEntity::getBlockNumber);
+            bindColumn(ps, 19, rows, TransactionItemEntity::getAmountValue);
+            bindColumn(ps, 20, rows, TransactionItemEntity::getFxRateValue);
+        });
+    }
+
+    /**
+     * Fills the numeric columns of the items stored before they existed. Runs once per database,
+     * the marker row commits with the update, and an instance starting at the same time waits
+     * for it and skips. Text that is no number, or too large for a numeric, stays NULL.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillDecimals() {
+        if (jdbcTemplate.update(MARK_MIGRATION, BACKFILL_DECIMALS_MIGRATION) == 0) {
+            return;
+        }
+        int updated = jdbcTemplate.update(BACKFILL_DECIMALS);
+        log.info("Backfilled numeric amounts of {} transaction items", updated);
+    }
+
+    private static String fitsNumeric(String column) {
+        return FITS_NUMERIC.formatted(column, TransactionItem.NUMERIC_INTEGER_DIGITS,
+                TransactionItem.NUMERIC_FRACTION_DIGITS);
+    }
+
+    // Values travel as text and are cast to the column type by the statement
+    private static <T> void bindColumn(PreparedStatement ps, int index, Collection<T> rows,
+            Function<T, ?> column) throws SQLException {
+        String[] values = rows.stream().map(column)
+                .map(value -> Objects.toString(value, null))
+                .toArray(String[]::new);
+        ps.setArray(index, ps.getConnection().createArrayOf("varchar", values));
+    }
+}
@@ -0,0 +1,208 @@
+package org.cardanofoundation.reeve.indexer.model.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.cardanofoundation.reeve.indexer.model.domain.ItemCursor;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionEntity;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionItemEntity;
+import org.cardanofoundation.reeve.indexer.model.view.ExtractionTransactionItemView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reads item searches straight into ExtractionTransactionItemView. Items and their transaction
+ * come from one join and are never loaded as entities, so nothing ends up in the persistence
+ * context. Also has the variants without the count query a Page needs, on large organisations
+ * counting all matches costs more than reading the page itself, and the segments of the export.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionItemSearchRepository {
+
+    private static final String EXPORT_SELECT = """
+            SELECT i.id, t.number, t.date, t.type, t.tx_hash, i.amount, i.fx_rate, i.costcenter_cust_code,
+                i.costcenter_name, i.project_cust_code, i.project_name, i.event_code, i.event_name,
+                i.document_number, i.currency, i.vat_cust_code, i.vat_rate, i.counterparty_type,
+                i.counterparty_cust_code, t.id
+            FROM reeve_transaction_item i JOIN reeve_transactions t ON t.id = i.transaction_id""";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public List<ExtractionTransactionItemView> findViews(Specification<TransactionItemEntity> specification,
+            Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ExtractionTransactionItemView> query = cb.createQuery(ExtractionTransactionItemView.class);
+        Root<TransactionItemEntity> root = query.from(TransactionItemEntity.class);
+        query.where(specification.toPredicate(root, query, cb));
+        Join<TransactionItemEntity, TransactionEntity> transaction = TransactionItemSpecifications.transaction(root);
+        // In the order of the view's fields
+        query.select(cb.construct(ExtractionTransactionItemView.class,
+                root.get("id"),
+                transaction.get("number"),
+                transaction.get("date"),
+                transaction.get("type"),
+                transaction.get("txHash"),
+                root.get("amount"),
+                root.get("fxRate"),
+                root.get("costCenterCustCode"),
+                root.get("costCenterName"),
+                root.get("projectCustCode"),
+                root.get("projectName"),
+                root.get("eventCode"),
+                root.get("eventName"),
+                root.get("documentNumber"),
+                root.get("currency"),
+                root.get("vatCustCode"),
+                root.get("vatRate"),
+                root.get("counterPartyType"),
+                root.get("counterPartyCustCode"),
+                transaction.get("id")));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Reads one row more than the page size to tell if there is a next page.
+     */
+    public Slice<ExtractionTransactionItemView> findSlice(Specification<TransactionItemEntity> specification,
+            Pageable pageable) {
+        List<ExtractionTransactionItemView> items = findViews(specification, pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = items.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? items.subList(0, pageable.getPageSize()) : items, pageable, hasNext);
+    }
+
+    /**
+     * Reads up to limit items after the cursor, or from the start without one, in
+     * {@link TransactionItemSpecifications#KEYSET_ORDER} and hands them to the consumer one by
+     * one. The rows come through a server side cursor that fetches fetchSize rows at a time, so a
+     * segment is never held by the driver as a whole. Runs in its own read-only transaction, an
+     * export reads segment after segment and the transaction ends with each of them.
+     */
+    @Transactional(readOnly = true)
+    public void readSegment(String organisationId, LocalDate dateFrom, LocalDate dateTo,
+            Collection<String> events, Collection<String> currencies, Optional<BigDecimal> minAmount,
+            Optional<BigDecimal> maxAmount, Collection<String> transactionHashes, ItemCursor after, int limit,
+            int fetchSize, Consumer<ExtractionTransactionItemView> consumer) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        addTransactionConditions(conditions, parameters, organisationId, dateFrom, dateTo, transactionHashes);
+        addItemConditions(conditions, parameters, events, currencies, minAmount, maxAmount);
+        if (after != null) {
+            // Same seek as TransactionItemSpecifications.after
+            conditions.add("t.date >= ? AND (t.date > ? OR t.id > ? OR (t.id = ? AND i.id > ?))");
+            parameters.addAll(List.of(after.date(), after.date(), after.transactionId(), after.transactionId(),
+                    after.itemId()));
+        }
+        StringBuilder sql = new StringBuilder(EXPORT_SELECT);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY t.date, t.id, i.id LIMIT ?");
+        parameters.add(limit);
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString());
+            statement.setFetchSize(fetchSize);
+            new ArgumentPreparedStatementSetter(parameters.toArray()).setValues(statement);
+            return statement;
+        }, resultSet -> {
+            consumer.accept(new ExtractionTransactionItemView(resultSet.getString(1), resultSet.getString(2),
+                    resultSet.getObject(3, LocalDate.class), resultSet.getString(4), resultSet.getString(5),
+                    resultSet.getString(6), resultSet.getString(7), resultSet.getString(8),
+                    resultSet.getString(9), resultSet.getString(10), resultSet.getString(11),
+                    resultSet.getString(12), resultSet.getString(13), resultSet.getString(14),
+                    resultSet.getString(15), resultSet.getString(16), resultSet.getString(17),
+                    resultSet.getString(18), resultSet.getString(19), resultSet.getString(20)));
+        });
+    }
+
+    /**
+     * The planner's row estimate for the filters of
+     * {@link TransactionItemSpecifications#search}. It comes from the table statistics, nothing
+     * is counted, so the cost does not grow with the number of matches.
+     */
+    public long estimateCount(String organisationId, LocalDate dateFrom, LocalDate dateTo,
+            Collection<String> events, Collection<String> currencies, Optional<BigDecimal> minAmount,
+            Optional<BigDecimal> maxAmount, Collection<String> transactionHashes) {
+        StringBuilder sql = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT 1 FROM reeve_transaction_item i");
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        addTransactionConditions(conditions, parameters, organisationId, dateFrom, dateTo, transactionHashes);
+        if (!conditions.isEmpty()) {
+            sql.append(" JOIN reeve_transactions t ON t.id = i.transaction_id");
+        }
+        addItemConditions(conditions, parameters, events, currencies, minAmount, maxAmount);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+
+        String plan = jdbcTemplate.queryForObject(sql.toString(), String.class, parameters.toArray());
+        try {
+            return objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable query plan: " + plan, e);
+        }
+    }
+
+    private static void addTransactionConditions(List<String> conditions, List<Object> parameters,
+            String organisationId, LocalDate dateFrom, LocalDate dateTo, Collection<String> transactionHashes) {
+        addCondition(conditions, parameters, "t.organisation_id = ?", organisationId);
+        addCondition(conditions, parameters, "t.date >= ?", dateFrom);
+        addCondition(conditions, parameters, "t.date <= ?", dateTo);
+        addCondition(conditions, parameters, "t.tx_hash = ANY(?)", toArray(transactionHashes));
+    }
+
+    private static void addItemConditions(List<String> conditions, List<Object> parameters,
+            Collection<String> events, Collection<String> currencies, Optional<BigDecimal> minAmount,
+            Optional<BigDecimal> maxAmount) {
+        addCondition(conditions, parameters, "i.event_code = ANY(?)", toArray(events));
+        addCondition(conditions, parameters, "i.currency = ANY(?)", toArray(currencies));
+        addCondition(conditions, parameters, "i.amount_value >= ?", minAmount == null ? null : minAmount.orElse(null));
+        addCondition(conditions, parameters, "i.amount_value <= ?", maxAmount == null ? null : maxAmount.orElse(null));
+    }
+
+    private static void addCondition(List<String> conditions, List<Object> parameters, String condition,
+            Object value) {
+        if (value != null) {
+            conditions.add(condition);
+            parameters.add(value);
+        }
+    }
+
+    private static String[] toArray(Collection<String> values) {
+        return isPresent(values) ? values.toArray(String[]::new) : null;
+    }
+
+    private static boolean isPresent(Collection<String> values) {
+        return values != null && !values.isEmpty();
+    }
+}
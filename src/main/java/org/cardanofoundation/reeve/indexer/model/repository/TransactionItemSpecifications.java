@@ -0,0 +1,106 @@
+package org.cardanofoundation.reeve.indexer.model.repository;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.cardanofoundation.reeve.indexer.model.domain.ItemCursor;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionEntity;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionItemEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Builds the item search from the filters that are actually supplied. A catch-all
+ * {@code (:x IS NULL OR ...)} statement is planned once for every combination of filters, so
+ * PostgreSQL can't pick the index that fits the request. Null or empty filters are left out of
+ * the statement altogether.
+ */
+public final class TransactionItemSpecifications {
+
+    /**
+     * Keyset order of the cursor search, see {@link #after(ItemCursor)}.
+     */
+    public static final Sort KEYSET_ORDER = Sort.by("transaction.date", "transaction.id", "id");
+
+    private TransactionItemSpecifications() {
+    }
+
+    public static Specification<TransactionItemEntity> search(String organisationId, LocalDate dateFrom,
+            LocalDate dateTo, Collection<String> events, Collection<String> currencies,
+            Optional<BigDecimal> minAmount, Optional<BigDecimal> maxAmount,
+            Collection<String> transactionHashes) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (organisationId != null || dateFrom != null || dateTo != null || isPresent(transactionHashes)) {
+                Join<TransactionItemEntity, TransactionEntity> transaction = transaction(root);
+                if (organisationId != null) {
+                    predicates.add(cb.equal(transaction.get("organisationId"), organisationId));
+                }
+                if (dateFrom != null) {
+                    predicates.add(cb.greaterThanOrEqualTo(transaction.get("date"), dateFrom));
+                }
+                if (dateTo != null) {
+                    predicates.add(cb.lessThanOrEqualTo(transaction.get("date"), dateTo));
+                }
+                if (isPresent(transactionHashes)) {
+                    predicates.add(transaction.get("txHash").in(transactionHashes));
+                }
+            }
+            if (isPresent(events)) {
+                predicates.add(root.get("eventCode").in(events));
+            }
+            if (isPresent(currencies)) {
+                predicates.add(root.get("currency").in(currencies));
+            }
+            if (minAmount != null && minAmount.isPresent()) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("amountValue"), minAmount.get()));
+            }
+            if (maxAmount != null && maxAmount.isPresent()) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("amountValue"), maxAmount.get()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Items after the cursor in {@link #KEYSET_ORDER}. The leading date bound lets the date
+     * indexes of reeve_transactions start at the cursor instead of reading the skipped rows.
+     */
+    public static Specification<TransactionItemEntity> after(ItemCursor cursor) {
+        return (root, query, cb) -> {
+            Join<TransactionItemEntity, TransactionEntity> transaction = transaction(root);
+            Path<LocalDate> date = transaction.get("date");
+            Path<String> transactionId = transaction.get("id");
+            return cb.and(
+                    cb.greaterThanOrEqualTo(date, cursor.date()),
+                    cb.or(
+                            cb.greaterThan(date, cursor.date()),
+                            cb.greaterThan(transactionId, cursor.transactionId()),
+                            cb.and(cb.equal(transactionId, cursor.transactionId()),
+                                    cb.greaterThan(root.get("id"), cursor.itemId()))));
+        };
+    }
+
+    // Combined specifications, projections and the sort share one join
+    @SuppressWarnings("unchecked")
+    static Join<TransactionItemEntity, TransactionEntity> transaction(Root<TransactionItemEntity> root) {
+        return root.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals("transaction")
+                        && join.getJoinType() == JoinType.INNER)
+                .map(join -> (Join<TransactionItemEntity, TransactionEntity>) join)
+                .findFirst()
+                .orElseGet(() -> root.join("transaction"));
+    }
+
+    private static boolean isPresent(Collection<String> values) {
+        return values != null && !values.isEmpty();
+    }
+}
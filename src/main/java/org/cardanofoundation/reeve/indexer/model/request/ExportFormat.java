@@ -0,0 +1,21 @@
+package org.cardanofoundation.reeve.indexer.model.request;
+
+/**
+ * Formats of the transaction item export, both one item per line.
+ */
+public enum ExportFormat {
+    /** One JSON object per line, the fields of a search response item */
+    NDJSON("application/x-ndjson"),
+    /** A header line with the same fields, then one line per item */
+    CSV("text/csv");
+
+    private final String mediaType;
+
+    ExportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+}
@@ -0,0 +1,38 @@
+package org.cardanofoundation.reeve.indexer.model.request;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.cardanofoundation.reeve.indexer.model.domain.Interval;
+import org.cardanofoundation.reeve.indexer.model.domain.ReconciliationStatus;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public class ReconciliationSearchRequest {
+
+    @NotBlank
+    @Schema(example = "75f95560c1d883ee7628993da5adf725a5d97a13929fd4f477be0faf5020ca94")
+    private String organisationId;
+
+    @Schema(example = "INCOME_STATEMENT")
+    private String reportType;
+
+    private Interval intervalType;
+
+    @Schema(example = "2024")
+    private Integer year;
+
+    @Schema(example = "3")
+    private Integer period;
+
+    @Schema(description = "All statuses when absent")
+    private ReconciliationStatus status;
+}
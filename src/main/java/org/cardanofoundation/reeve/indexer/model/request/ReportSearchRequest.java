@@ -31,4 +31,7 @@ public class ReportSearchRequest {
     @Schema(example = "3")
     private Short period;
 
+    @Schema(description = "Return every published version instead of only the newest one per report", defaultValue = "false")
+    private boolean includeHistory;
+
 }
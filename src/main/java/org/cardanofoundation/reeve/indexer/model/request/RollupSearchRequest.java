@@ -0,0 +1,36 @@
+package org.cardanofoundation.reeve.indexer.model.request;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.cardanofoundation.reeve.indexer.model.domain.RollupDimension;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public class RollupSearchRequest {
+
+    @NotBlank
+    @Schema(example = "75f95560c1d883ee7628993da5adf725a5d97a13929fd4f477be0faf5020ca94")
+    private String organisationId;
+
+    @Schema(description = "All dimensions when absent")
+    private RollupDimension dimension;
+
+    @Schema(example = "2024-01")
+    private String accountingPeriodFrom;
+
+    @Schema(example = "2024-12")
+    private String accountingPeriodTo;
+
+    @Schema(description = "Values of the dimension, e.g. event codes, all when absent")
+    private Set<String> values;
+}
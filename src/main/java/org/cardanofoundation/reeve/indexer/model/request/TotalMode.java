@@ -0,0 +1,13 @@
+package org.cardanofoundation.reeve.indexer.model.request;
+
+/**
+ * How the total of a transaction search is computed.
+ */
+public enum TotalMode {
+    /** Counted with a second query over all matching items */
+    EXACT,
+    /** Row estimate of the query planner, cheap but approximate */
+    ESTIMATED,
+    /** Not computed, the response only tells if there is a next page */
+    NONE
+}
@@ -42,4 +42,12 @@ public class TransactionsSearchRequest {
     private Optional<BigDecimal> maxAmount;
 
     private Set<String> transactionHashes;
+
+    @Schema(description = "Switches to cursor paging. Empty for the first page, then the nextCursor "
+            + "of the previous response. The page parameter is ignored in this mode.")
+    private String cursor;
+
+    @Schema(description = "How the total is computed, EXACT by default in page mode and NONE in cursor mode. "
+            + "ESTIMATED and NONE skip counting all matches, NONE suits infinite scrolling.")
+    private TotalMode total;
 }
@@ -3,6 +3,7 @@ package org.cardanofoundation.reeve.indexer.model.view;
 import java.time.LocalDate;
 import org.cardanofoundation.reeve.indexer.model.entity.TransactionItemEntity;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
@@ -44,6 +45,10 @@ public class ExtractionTransactionItemView {
     private String counterPartyType;
     private String counterPartyCustCode;
 
+    // Keys the cursor of the search, not part of the response
+    @JsonIgnore
+    private String transactionId;
+
     public static ExtractionTransactionItemView fromEntity(TransactionItemEntity entity) {
         return ExtractionTransactionItemView.builder()
                 .id(entity.getId())
@@ -64,6 +69,7 @@ public class ExtractionTransactionItemView {
                 .projectName(entity.getProjectName())
                 .counterPartyType(entity.getCounterPartyType())
                 .counterPartyCustCode(entity.getCounterPartyCustCode())
+                .transactionId(entity.getTransaction().getId())
                 .build();
     }
 }
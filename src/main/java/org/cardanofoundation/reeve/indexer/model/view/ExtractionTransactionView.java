@@ -2,9 +2,12 @@ package org.cardanofoundation.reeve.indexer.model.view;
 
 import java.util.List;
 import java.util.Optional;
+import org.cardanofoundation.reeve.indexer.model.request.TotalMode;
 import org.springframework.http.ProblemDetail;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -13,27 +16,44 @@ import lombok.Setter;
 @Getter
 @Setter
 @AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class ExtractionTransactionView {
     private boolean success;
 
-    private long total;
+    // Absent with TotalMode.NONE
+    private Long total;
+
+    private TotalMode totalMode;
 
     private List<ExtractionTransactionItemView> transactions;
 
     private Optional<ProblemDetail> error;
 
-    private int page;
+    private Integer page;
     private int size;
 
+    private Boolean hasNext;
+
+    // Token of the next page in cursor mode, absent on the last page
+    private String nextCursor;
+
+    public static ExtractionTransactionView createSuccess(
+            List<ExtractionTransactionItemView> transactions, Long total, TotalMode totalMode,
+            boolean hasNext, int page, int limit) {
+        return new ExtractionTransactionView(true, total, totalMode, transactions, Optional.empty(),
+                page, limit, hasNext, null);
+    }
+
     public static ExtractionTransactionView createSuccess(
-            List<ExtractionTransactionItemView> transactions, long totalElements, int page,
-            int limit) {
-        return new ExtractionTransactionView(true, totalElements, transactions, Optional.empty(),
-                page, limit);
+            List<ExtractionTransactionItemView> transactions, Long total, TotalMode totalMode,
+            String nextCursor, int limit) {
+        return new ExtractionTransactionView(true, total, totalMode, transactions, Optional.empty(),
+                null, limit, nextCursor != null, nextCursor);
     }
 
     public static ExtractionTransactionView createFail(ProblemDetail error) {
-        return new ExtractionTransactionView(false, 0L, List.of(), Optional.of(error), 0, 0);
+        return new ExtractionTransactionView(false, 0L, null, List.of(), Optional.of(error), 0, 0,
+                null, null);
     }
 }
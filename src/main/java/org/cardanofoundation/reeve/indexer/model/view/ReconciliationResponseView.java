@@ -0,0 +1,28 @@
+package org.cardanofoundation.reeve.indexer.model.view;
+
+import java.util.List;
+import java.util.Optional;
+import org.springframework.http.ProblemDetail;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class ReconciliationResponseView {
+
+    private boolean success;
+
+    private Long total;
+    private List<ReconciliationView> reconciliations;
+    private Optional<ProblemDetail> error;
+
+    public static ReconciliationResponseView createSuccess(List<ReconciliationView> reconciliations) {
+        return new ReconciliationResponseView(true, (long) reconciliations.size(), reconciliations, Optional.empty());
+    }
+
+    public static ReconciliationResponseView createFail(ProblemDetail error) {
+        return new ReconciliationResponseView(false, 0L, List.of(), Optional.of(error));
+    }
+}
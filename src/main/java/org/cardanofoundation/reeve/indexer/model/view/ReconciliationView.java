@@ -0,0 +1,46 @@
+package org.cardanofoundation.reeve.indexer.model.view;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.cardanofoundation.reeve.indexer.model.domain.Interval;
+import org.cardanofoundation.reeve.indexer.model.domain.ReconciliationStatus;
+
+@Getter
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public class ReconciliationView {
+
+    private String reportType;
+
+    private Interval intervalType;
+
+    private Integer year;
+
+    private Integer period;
+
+    @Schema(description = "Version of the report that was checked")
+    private Long ver;
+
+    @Schema(description = "Path of the figure in the report's fields", example = "revenues.other_income")
+    private String field;
+
+    @Schema(description = "The figure as published in the report, absent when it is no number")
+    private BigDecimal reported;
+
+    @Schema(description = "Sum of the items of the figure's event codes in the report's accounting periods")
+    private BigDecimal computed;
+
+    @Schema(description = "Reported minus computed")
+    private BigDecimal difference;
+
+    private long items;
+
+    private ReconciliationStatus status;
+
+    private Instant checkedAt;
+}
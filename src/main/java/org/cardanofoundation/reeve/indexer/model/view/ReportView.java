@@ -1,10 +1,10 @@
 package org.cardanofoundation.reeve.indexer.model.view;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,7 +12,6 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.cardanofoundation.reeve.indexer.model.entity.OrganisationEntity;
 import org.cardanofoundation.reeve.indexer.model.entity.ReportEntity;
-import java.util.Map;
 
 @AllArgsConstructor
 @RequiredArgsConstructor
@@ -36,9 +35,12 @@ public class ReportView {
 
     private Long ver;
 
-    private Map<String, Object> fields; // Assuming fields is a JSON string, adjust as necessary
+    // The jsonb text as stored, written into the response as it is instead of parsing it per request
+    @JsonRawValue
+    @Schema(type = "object")
+    private String fields;
 
-    public static ReportView fromEntity(ReportEntity entity, OrganisationEntity organisationEntity, ObjectMapper objectMapper) throws JsonProcessingException {
+    public static ReportView fromEntity(ReportEntity entity, OrganisationEntity organisationEntity) {
         return ReportView.builder()
                 .organisationId(entity.getOrganisationId())
                 .type(entity.getSubType())
@@ -48,7 +50,7 @@ public class ReportView {
                 .ver(entity.getVer())
                 .currency(organisationEntity.getCurrencyId())
                 .blockChainHash(entity.getTxHash())
-                .fields(objectMapper.readValue(entity.getFields(), Map.class))
+                .fields(entity.getFields())
                 .build();
     }
 }
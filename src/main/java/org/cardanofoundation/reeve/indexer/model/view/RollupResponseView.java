@@ -0,0 +1,28 @@
+package org.cardanofoundation.reeve.indexer.model.view;
+
+import java.util.List;
+import java.util.Optional;
+import org.springframework.http.ProblemDetail;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class RollupResponseView {
+
+    private boolean success;
+
+    private Long total;
+    private List<RollupView> rollups;
+    private Optional<ProblemDetail> error;
+
+    public static RollupResponseView createSuccess(List<RollupView> rollups) {
+        return new RollupResponseView(true, (long) rollups.size(), rollups, Optional.empty());
+    }
+
+    public static RollupResponseView createFail(ProblemDetail error) {
+        return new RollupResponseView(false, 0L, List.of(), Optional.of(error));
+    }
+}
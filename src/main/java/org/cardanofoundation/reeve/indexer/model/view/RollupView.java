@@ -0,0 +1,27 @@
+package org.cardanofoundation.reeve.indexer.model.view;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.cardanofoundation.reeve.indexer.model.domain.RollupDimension;
+
+@Getter
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public class RollupView {
+
+    private String accountingPeriod;
+
+    private RollupDimension dimension;
+
+    @Schema(description = "Value of the dimension, empty for the items without one")
+    private String value;
+
+    @Schema(description = "Sum of the item amounts in the currency of the organisation")
+    private BigDecimal amount;
+
+    private long items;
+}
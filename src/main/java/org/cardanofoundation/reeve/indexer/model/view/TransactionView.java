@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.cardanofoundation.reeve.indexer.model.entity.TransactionEntity;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionItemEntity;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -24,7 +25,11 @@ public class TransactionView {
     private LocalDate date;
     private List<TransactionItemView> items;
 
-    public static TransactionView fromEntity(TransactionEntity entity) {
+    /**
+     * The items are passed in, the entity's own collection is not touched so that it is never
+     * loaded one transaction at a time.
+     */
+    public static TransactionView fromEntity(TransactionEntity entity, List<TransactionItemEntity> items) {
         return TransactionView.builder()
                 .id(entity.getId())
                 .txHash(entity.getTxHash())
@@ -33,7 +38,7 @@ public class TransactionView {
                 .batchId(entity.getBatchId())
                 .type(entity.getType())
                 .date(entity.getDate())
-                .items(entity.getItems().stream()
+                .items(items.stream()
                         .map(TransactionItemView::fromEntity)
                         .toList())
                 .build();
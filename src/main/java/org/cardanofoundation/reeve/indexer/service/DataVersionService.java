@@ -0,0 +1,128 @@
+package org.cardanofoundation.reeve.indexer.service;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import org.cardanofoundation.reeve.indexer.model.repository.DataVersionRepository;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Data versions of the organisations, read by the API to answer repeated requests with 304 Not
+ * Modified. The ingest path increments them in the transaction that changes the rows, the
+ * versions are read from memory and only take the new value once that transaction has
+ * committed. Requests that span all organisations use the sum of the versions, which grows with
+ * every change of any of them. The search caches drop the entries of the changed organisations
+ * once the new versions apply. ETags carry the epoch of the database as well, so once a snapshot
+ * import or a reprocess has replaced the data no ETag handed out before matches again.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+// The table is created by Hibernate, the versions are loaded once it exists
+@DependsOn("entityManagerFactory")
+public class DataVersionService {
+
+    private final DataVersionRepository dataVersionRepository;
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong total = new AtomicLong();
+    private volatile long epoch;
+    private final List<SearchCache<?>> caches = new CopyOnWriteArrayList<>();
+
+    @PostConstruct
+    public void reload() {
+        epoch = dataVersionRepository.epoch();
+        versions.clear();
+        total.set(0);
+        apply(dataVersionRepository.findAll());
+        // Versions can be counted again from a lower value, no cached result is known to be current
+        caches.forEach(SearchCache::evictAll);
+        log.info("Loaded data versions of {} organisations", versions.size());
+    }
+
+    /**
+     * The version of one organisation, or of all of them when the id is null.
+     */
+    public long version(String organisationId) {
+        return organisationId == null ? total.get() : versions.getOrDefault(organisationId, 0L);
+    }
+
+    /**
+     * An ETag for the response to a request on the organisation's data, or on all of it when the
+     * id is null. The request parts tell apart different queries on the same data.
+     */
+    public String etag(String organisationId, String... request) {
+        String key = Objects.toString(organisationId, "") + "\n" + String.join("\n",
+                Objects.requireNonNullElse(request, new String[0]));
+        return "\"%x-%d-%s\"".formatted(epoch, version(organisationId),
+                DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Starts a new epoch, called when the data is replaced as a whole. No ETag handed out before
+     * matches again, whatever versions the new data reaches.
+     */
+    public void newEpoch() {
+        epoch = dataVersionRepository.newEpoch();
+        caches.forEach(SearchCache::evictAll);
+        log.info("Started data epoch {}", Long.toHexString(epoch));
+    }
+
+    /**
+     * Registers a cache whose entries depend on the versions, see SearchCache.
+     */
+    public void register(SearchCache<?> cache) {
+        caches.add(cache);
+    }
+
+    /**
+     * Records a change to the rows of the organisations, each with the slot of its newest change.
+     * Called by the ingest path, see MetadataWriter.
+     */
+    public void changed(SortedMap<String, Long> slots) {
+        afterCommit(dataVersionRepository.increment(slots));
+    }
+
+    /**
+     * Records that the rows above the slot were removed.
+     */
+    public void rolledBack(long slot) {
+        afterCommit(dataVersionRepository.incrementAbove(slot));
+    }
+
+    private void afterCommit(Map<String, Long> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(changed);
+                    caches.forEach(cache -> cache.evict(changed.keySet()));
+                }
+            });
+        } else {
+            apply(changed);
+            caches.forEach(cache -> cache.evict(changed.keySet()));
+        }
+    }
+
+    private void apply(Map<String, Long> changed) {
+        changed.forEach((organisationId, version) -> {
+            Long previous = versions.put(organisationId, version);
+            total.addAndGet(version - (previous == null ? 0 : previous));
+        });
+    }
+}
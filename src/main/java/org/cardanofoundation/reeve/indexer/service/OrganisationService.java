@@ -1,7 +1,13 @@
 package org.cardanofoundation.reeve.indexer.service;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.cardanofoundation.reeve.indexer.model.domain.Organisation;
 import org.cardanofoundation.reeve.indexer.model.entity.OrganisationEntity;
@@ -10,15 +16,60 @@ import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Organisations are read through a cache, there are few of them and they are stored once. The
+ * ingest path evicts the ids it registers and clears the cache when rows are rolled back, see
+ * OrganisationRegistry. Unknown ids are not cached, so an organisation shows up as soon as it
+ * is indexed.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class OrganisationService {
 
     private final OrganisationRepository organisationRepository;
+    private final Map<String, OrganisationEntity> cache = new ConcurrentHashMap<>();
 
     public Optional<OrganisationEntity> findById(String organisationId) {
-        return organisationRepository.findById(organisationId);
+        OrganisationEntity cached = cache.get(organisationId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<OrganisationEntity> organisation = organisationRepository.findById(organisationId);
+        organisation.ifPresent(entity -> cache.put(entity.getId(), entity));
+        return organisation;
+    }
+
+    /**
+     * Resolves all ids with at most one query for the ones that are not cached. Unknown ids are
+     * missing from the result.
+     */
+    public Map<String, OrganisationEntity> findAllById(Collection<String> organisationIds) {
+        Map<String, OrganisationEntity> organisations = new HashMap<>();
+        Set<String> missing = organisationIds.stream()
+                .filter(organisationId -> {
+                    OrganisationEntity cached = cache.get(organisationId);
+                    if (cached != null) {
+                        organisations.put(organisationId, cached);
+                    }
+                    return cached == null;
+                })
+                .collect(Collectors.toSet());
+        if (!missing.isEmpty()) {
+            organisationRepository.findAllById(missing).forEach(entity -> {
+                cache.put(entity.getId(), entity);
+                organisations.put(entity.getId(), entity);
+            });
+        }
+        return organisations;
+    }
+
+    public void evict(Collection<String> organisationIds) {
+        organisationIds.forEach(cache::remove);
+    }
+
+    public void evictAll() {
+        cache.clear();
     }
 
     public List<Organisation> getAllOrganisations() {
@@ -0,0 +1,258 @@
+package org.cardanofoundation.reeve.indexer.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.reeve.indexer.model.domain.Interval;
+import org.cardanofoundation.reeve.indexer.model.domain.ReconciliationRule;
+import org.cardanofoundation.reeve.indexer.model.domain.ReconciliationStatus;
+import org.cardanofoundation.reeve.indexer.model.domain.RollupDimension;
+import org.cardanofoundation.reeve.indexer.model.entity.ReconciliationEntity;
+import org.cardanofoundation.reeve.indexer.model.repository.ReconciliationRepository;
+import org.cardanofoundation.reeve.indexer.model.repository.RollupRepository;
+import org.cardanofoundation.reeve.indexer.model.view.ReconciliationView;
+import org.cardanofoundation.reeve.indexer.model.view.RollupView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks the figures of the current reports against the items the same organisation published
+ * for the report's accounting periods. Which figure equals which event codes is configured
+ * under {@code reeve.reconciliation.rules}, without rules nothing is checked. Every
+ * {@code reeve.reconciliation.interval} the queued periods are taken off the queue one
+ * organisation at a time, only the reports covering them are checked again and all their sums
+ * come from one read of the rollups, so a run costs the changed periods and not the size of
+ * the organisation. A run moves the data version of the organisations it checked reports of.
+ */
+@Service
+@Slf4j
+public class ReconciliationService {
+
+    private final ReconciliationRepository reconciliationRepository;
+    private final RollupRepository rollupRepository;
+    private final DataVersionService dataVersionService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final List<ReconciliationRule> rules;
+    private final boolean enabled;
+    private final BigDecimal tolerance;
+    private final Timer runTimer;
+    private final Map<ReconciliationStatus, Counter> checks = new EnumMap<>(ReconciliationStatus.class);
+
+    public ReconciliationService(ReconciliationRepository reconciliationRepository,
+            RollupRepository rollupRepository, DataVersionService dataVersionService,
+            TransactionTemplate transactionTemplate, ObjectMapper objectMapper, Environment environment,
+            @Value("${reeve.reconciliation.enabled:true}") boolean enabled,
+            @Value("${reeve.reconciliation.tolerance:0}") BigDecimal tolerance,
+            MeterRegistry meterRegistry) {
+        this.reconciliationRepository = reconciliationRepository;
+        this.rollupRepository = rollupRepository;
+        this.dataVersionService = dataVersionService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.rules = Binder.get(environment)
+                .bind("reeve.reconciliation.rules", Bindable.listOf(ReconciliationRule.class))
+                .orElse(List.of());
+        this.enabled = enabled;
+        this.tolerance = tolerance;
+        this.runTimer = Timer.builder("reeve.reconciliation.run").register(meterRegistry);
+        for (ReconciliationStatus status : ReconciliationStatus.values()) {
+            checks.put(status, Counter.builder("reeve.reconciliation.checks").tag("status", status.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Queues everything once when there are rules but no results yet, e.g. on the first start
+     * with rules.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (enabled && !rules.isEmpty() && reconciliationRepository.isEmpty()) {
+            int queued = reconciliationRepository.queueAll();
+            log.info("Queued {} accounting periods for the first reconciliation", queued);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reeve.reconciliation.interval:PT10S}")
+    public void scheduled() {
+        if (enabled && !rules.isEmpty()) {
+            runTimer.record(this::reconcilePending);
+        }
+    }
+
+    /**
+     * Reconciles the reports of all queued periods, each organisation in its own transaction.
+     * An organisation that fails keeps its periods queued for the next run and does not hold up
+     * the others. Returns the number of reports checked.
+     */
+    public int reconcilePending() {
+        int reports = 0;
+        for (String organisationId : reconciliationRepository.findPendingOrganisations()) {
+            try {
+                reports += transactionTemplate.execute(status -> reconcile(organisationId));
+            } catch (RuntimeException e) {
+                log.error("Reconciliation of {} failed, its periods stay queued", organisationId, e);
+            }
+        }
+        return reports;
+    }
+
+    public List<ReconciliationView> find(String organisationId, String reportType, Interval interval,
+            Integer year, Integer period, ReconciliationStatus status) {
+        return reconciliationRepository.find(organisationId, reportType, interval, year, period, status);
+    }
+
+    /**
+     * The accounting periods a report covers, formatted like those of the transactions.
+     */
+    public static List<String> accountingPeriods(Interval interval, Integer year, Integer period) {
+        if (interval == null || year == null || (period == null && interval != Interval.YEAR)) {
+            return List.of();
+        }
+        IntStream months = switch (interval) {
+            case MONTH -> IntStream.of(period);
+            case QUARTER -> IntStream.rangeClosed(3 * period - 2, 3 * period);
+            case YEAR -> IntStream.rangeClosed(1, 12);
+        };
+        return months.mapToObj(month -> "%d-%02d".formatted(year, month)).toList();
+    }
+
+    private int reconcile(String organisationId) {
+        Set<String> periods = reconciliationRepository.claim(organisationId);
+        Set<Integer> years = new TreeSet<>();
+        periods.forEach(period -> {
+            try {
+                years.add(Integer.parseInt(period.substring(0, period.indexOf('-'))));
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                // Periods of another format belong to no report
+            }
+        });
+        Set<String> reportTypes = rules.stream().map(ReconciliationRule::reportType).collect(Collectors.toSet());
+        List<ReconciliationRepository.Report> reports = years.isEmpty() ? List.of()
+                : reconciliationRepository.findReports(organisationId, reportTypes, years).stream()
+                        .filter(report -> !Collections.disjoint(periods,
+                                accountingPeriods(report.interval(), report.year(), report.period())))
+                        .toList();
+        if (reports.isEmpty()) {
+            return 0;
+        }
+
+        // The sums of all reports in one read, keyed by period and event code
+        SortedSet<String> months = new TreeSet<>();
+        reports.forEach(report -> months.addAll(accountingPeriods(report.interval(), report.year(), report.period())));
+        Set<String> events = rules.stream().flatMap(rule -> rule.events().stream()).map(ReconciliationService::code)
+                .collect(Collectors.toSet());
+        Map<String, RollupView> sums = new HashMap<>();
+        rollupRepository.find(organisationId, RollupDimension.EVENT, months.first(), months.last(), events)
+                .forEach(sum -> sums.put(sum.getAccountingPeriod() + "|" + sum.getValue(), sum));
+
+        Instant checkedAt = Instant.now();
+        List<ReconciliationEntity> results = new ArrayList<>();
+        for (ReconciliationRepository.Report report : reports) {
+            JsonNode fields = parse(report);
+            List<String> reportPeriods = accountingPeriods(report.interval(), report.year(), report.period());
+            rules.stream().filter(rule -> rule.reportType().equals(report.subType())).forEach(rule -> {
+                BigDecimal computed = BigDecimal.ZERO;
+                long items = 0;
+                for (String event : rule.events()) {
+                    for (String period : reportPeriods) {
+                        RollupView sum = sums.get(period + "|" + code(event));
+                        if (sum != null) {
+                            computed = event.startsWith("-") ? computed.subtract(sum.getAmount())
+                                    : computed.add(sum.getAmount());
+                            items += sum.getItems();
+                        }
+                    }
+                }
+                BigDecimal reported = figure(fields, rule.field());
+                BigDecimal difference = reported == null ? null : reported.subtract(computed);
+                ReconciliationStatus status = difference == null ? ReconciliationStatus.NOT_REPORTED
+                        : difference.abs().compareTo(tolerance) <= 0 ? ReconciliationStatus.MATCHED
+                                : ReconciliationStatus.MISMATCHED;
+                checks.get(status).increment();
+                results.add(ReconciliationEntity.builder()
+                        .reportKey(report.reportKey())
+                        .field(rule.field())
+                        .reportId(report.reportId())
+                        .ver(report.ver())
+                        .organisationId(organisationId)
+                        .subType(report.subType())
+                        .interval(report.interval())
+                        .year(report.year())
+                        .period(report.period())
+                        .reported(reported)
+                        .computed(computed)
+                        .difference(difference)
+                        .items(items)
+                        .status(status)
+                        .checkedAt(checkedAt)
+                        .build());
+            });
+        }
+        reconciliationRepository.replace(reports.stream().map(ReconciliationRepository.Report::reportKey).toList(),
+                results);
+        // Cached responses of the organisation include the previous results
+        dataVersionService.changed(new TreeMap<>(Map.of(organisationId, 0L)));
+        log.debug("Reconciled {} reports of {} for {} periods", reports.size(), organisationId, periods.size());
+        return reports.size();
+    }
+
+    private JsonNode parse(ReconciliationRepository.Report report) {
+        try {
+            return report.fields() == null ? MissingNode.getInstance() : objectMapper.readTree(report.fields());
+        } catch (JsonProcessingException e) {
+            log.warn("Fields of report {} are no JSON, none of its figures is reported", report.reportKey());
+            return MissingNode.getInstance();
+        }
+    }
+
+    // Published figures are numbers or numbers as text
+    private static BigDecimal figure(JsonNode fields, String path) {
+        JsonNode node = fields;
+        for (String name : path.split("\\.")) {
+            node = node.path(name);
+        }
+        if (node.isNumber()) {
+            return node.decimalValue();
+        }
+        if (node.isTextual()) {
+            try {
+                return new BigDecimal(node.textValue().trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static String code(String event) {
+        return event.startsWith("-") ? event.substring(1) : event;
+    }
+}
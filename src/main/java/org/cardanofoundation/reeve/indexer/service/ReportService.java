@@ -1,56 +1,88 @@
 package org.cardanofoundation.reeve.indexer.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.cardanofoundation.reeve.indexer.model.domain.Interval;
+import org.cardanofoundation.reeve.indexer.model.entity.OrganisationEntity;
+import org.cardanofoundation.reeve.indexer.model.entity.ReportEntity;
 import org.cardanofoundation.reeve.indexer.model.repository.ReportRepository;
+import org.cardanofoundation.reeve.indexer.model.repository.ReportSpecifications;
 import org.cardanofoundation.reeve.indexer.model.view.ReportView;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class ReportService {
 
+    // Rough size of a view without its fields, see weigh
+    private static final int VIEW_WEIGHT = 512;
+
     private final ReportRepository reportRepository;
     private final OrganisationService organisationService;
-    private final ObjectMapper objectMapper;
+    private final SearchCache<List<ReportView>> cache;
+
+    public ReportService(ReportRepository reportRepository, OrganisationService organisationService,
+            DataVersionService dataVersionService, MeterRegistry meterRegistry,
+            @Value("${reeve.cache.reports.enabled:true}") boolean cacheEnabled,
+            @Value("${reeve.cache.reports.max-entries:1000}") int cacheMaxEntries,
+            @Value("${reeve.cache.reports.max-weight:64MB}") DataSize cacheMaxWeight) {
+        this.reportRepository = reportRepository;
+        this.organisationService = organisationService;
+        this.cache = new SearchCache<>("reports", cacheEnabled, cacheMaxEntries, cacheMaxWeight.toBytes(),
+                ReportService::weigh, dataVersionService, meterRegistry);
+    }
 
+    /**
+     * Searches are answered from the cache until the reports of the organisation change.
+     */
     public List<ReportView> findAllByTypeAndPeriod(String organisationId, String reportType,
-            String intervalType, Short year, Short period) {
-       return reportRepository.findAllByOrganisationIdAndSubTypeAndIntervalAndYearAndPeriod(
-                organisationId, reportType, intervalType != null ? Interval.valueOf(intervalType) : null, year, period)
-                .stream()
-                .map(reportEntity -> {
-                    try {
-                        return ReportView.fromEntity(reportEntity,
-                                organisationService.findById(reportEntity.getOrganisationId()).orElseThrow(),
-                                objectMapper);
-                    } catch (Exception e) {
-                        log.error("Error converting ReportEntity to ReportView: {}", e.getMessage());
-                        return null;
-                    }
-                })
-                .filter(java.util.Objects::nonNull)
-                .toList();
+            String intervalType, Short year, Short period, boolean includeHistory) {
+        Interval interval = intervalType != null ? Interval.valueOf(intervalType) : null;
+        return cache.get(organisationId,
+                () -> find(organisationId, reportType, interval, year, period, includeHistory),
+                reportType, interval, year, period, includeHistory);
+    }
+
+    private List<ReportView> find(String organisationId, String reportType, Interval interval, Short year,
+            Short period, boolean includeHistory) {
+        List<ReportEntity> reports = includeHistory
+                ? reportRepository.findAll(
+                        ReportSpecifications.history(organisationId, reportType, interval, year, period))
+                : reportRepository.findAll(
+                        ReportSpecifications.current(organisationId, reportType, interval, year, period));
+        return toViews(reports);
     }
 
     public List<ReportView> findAll() {
-        return reportRepository.findAll()
-                .stream()
+        return toViews(reportRepository.findAll());
+    }
+
+    // The organisations of all reports are resolved at once, not once per report
+    private List<ReportView> toViews(List<ReportEntity> reports) {
+        Map<String, OrganisationEntity> organisations = organisationService.findAllById(
+                reports.stream().map(ReportEntity::getOrganisationId).collect(Collectors.toSet()));
+        return reports.stream()
                 .map(reportEntity -> {
-                    try {
-                        return ReportView.fromEntity(reportEntity,
-                                organisationService.findById(reportEntity.getOrganisationId()).orElseThrow(),
-                                objectMapper);
-                    } catch (Exception e) {
-                        log.error("Error converting ReportEntity to ReportView: {}", e.getMessage());
+                    OrganisationEntity organisation = organisations.get(reportEntity.getOrganisationId());
+                    if (organisation == null) {
+                        log.error("Error converting ReportEntity to ReportView: no organisation {}",
+                                reportEntity.getOrganisationId());
                         return null;
                     }
+                    return ReportView.fromEntity(reportEntity, organisation);
                 })
                 .filter(java.util.Objects::nonNull)
                 .toList();
     }
+
+    // The fields are embedded as they are stored and make up most of a view
+    private static long weigh(List<ReportView> views) {
+        return views.stream().mapToLong(view -> VIEW_WEIGHT
+                + (view.getFields() == null ? 0 : view.getFields().length())).sum();
+    }
 }
@@ -0,0 +1,50 @@
+package org.cardanofoundation.reeve.indexer.service;
+
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.reeve.indexer.model.domain.RollupDimension;
+import org.cardanofoundation.reeve.indexer.model.repository.ReconciliationRepository;
+import org.cardanofoundation.reeve.indexer.model.repository.RollupRepository;
+import org.cardanofoundation.reeve.indexer.model.view.RollupView;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Totals of the items per accounting period and dimension value, read from the rollups the
+ * ingest path maintains, see RollupRepository.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RollupService {
+
+    private final RollupRepository rollupRepository;
+    private final ReconciliationRepository reconciliationRepository;
+
+    public List<RollupView> find(String organisationId, RollupDimension dimension, String accountingPeriodFrom,
+            String accountingPeriodTo, Collection<String> values) {
+        return rollupRepository.find(organisationId, dimension, accountingPeriodFrom, accountingPeriodTo, values);
+    }
+
+    /**
+     * Computes the rollups from the items again and compares them with the items afterwards.
+     * Returns how many rollups differed before and after. Reports were reconciled against the
+     * drifted rollups, so everything is queued for reconciliation again if any differed.
+     */
+    @Transactional
+    public Rebuild rebuild() {
+        long drifted = rollupRepository.countMismatches();
+        int rollups = rollupRepository.rebuild();
+        long mismatches = rollupRepository.countMismatches();
+        if (drifted > 0) {
+            reconciliationRepository.queueAll();
+        }
+        log.info("Rebuilt {} rollups, {} differed from the items before, {} after", rollups, drifted, mismatches);
+        return new Rebuild(drifted, rollups, mismatches);
+    }
+
+    public record Rebuild(long drifted, int rollups, long mismatches) {
+    }
+}
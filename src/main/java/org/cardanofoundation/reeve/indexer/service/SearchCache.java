@@ -0,0 +1,134 @@
+package org.cardanofoundation.reeve.indexer.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * A bounded in-memory cache of search results, keyed by the organisation and the normalized
+ * request. The least recently used entries are evicted once there are more than the maximum of
+ * entries or their weight, an estimate of their size in bytes, is above the limit.
+ *
+ * <p>Each entry keeps the data version of its organisation from before it was read and is only
+ * served while that version is current, so a search that overlaps an ingest is never served
+ * afterwards. The ingest path evicts the entries of the organisations it changed, entries on all
+ * organisations go with any change, see DataVersionService.
+ */
+public class SearchCache<V> {
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final DataVersionService dataVersionService;
+    // Access ordered, the eldest entry is the least recently used one
+    private final LinkedHashMap<Key, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter ingestEvictions;
+
+    public SearchCache(String name, boolean enabled, int maxEntries, long maxWeight, ToLongFunction<V> weigher,
+            DataVersionService dataVersionService, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.dataVersionService = dataVersionService;
+        this.hits = Counter.builder("reeve.cache.requests").tag("cache", name).tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("reeve.cache.requests").tag("cache", name).tag("result", "miss")
+                .register(meterRegistry);
+        this.sizeEvictions = Counter.builder("reeve.cache.evictions").tag("cache", name).tag("cause", "size")
+                .register(meterRegistry);
+        this.ingestEvictions = Counter.builder("reeve.cache.evictions").tag("cache", name).tag("cause", "ingest")
+                .register(meterRegistry);
+        Gauge.builder("reeve.cache.entries", this, SearchCache::size).tag("cache", name).register(meterRegistry);
+        Gauge.builder("reeve.cache.weight", this, SearchCache::weight).tag("cache", name).register(meterRegistry);
+        dataVersionService.register(this);
+    }
+
+    /**
+     * The cached result of the request on the organisation's data, or on all of it when the id is
+     * null, read with the loader on a miss. The request parts have to be immutable and compare by
+     * value, sets and lists are compared by their elements.
+     */
+    public V get(String organisationId, Supplier<V> loader, Object... request) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = new Key(organisationId, Arrays.asList(request));
+        long version = dataVersionService.version(organisationId);
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.version() == version) {
+                hits.increment();
+                return entry.value();
+            }
+        }
+        misses.increment();
+        V value = loader.get();
+        put(key, new Entry<>(value, version, weigher.applyAsLong(value)));
+        return value;
+    }
+
+    /**
+     * Drops the entries on the data of the organisations and the ones on all organisations.
+     */
+    public synchronized void evict(Collection<String> organisationIds) {
+        Iterator<Map.Entry<Key, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry<V>> entry = iterator.next();
+            String organisationId = entry.getKey().organisationId();
+            if (organisationId == null || organisationIds.contains(organisationId)) {
+                weight -= entry.getValue().weight();
+                iterator.remove();
+                ingestEvictions.increment();
+            }
+        }
+    }
+
+    public synchronized void evictAll() {
+        ingestEvictions.increment(entries.size());
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return weight;
+    }
+
+    private synchronized void put(Key key, Entry<V> entry) {
+        // A result above the limit would only push out everything else
+        if (entry.weight() > maxWeight) {
+            return;
+        }
+        Entry<V> previous = entries.put(key, entry);
+        weight += entry.weight() - (previous == null ? 0 : previous.weight());
+        Iterator<Entry<V>> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries || weight > maxWeight) {
+            weight -= eldest.next().weight();
+            eldest.remove();
+            sizeEvictions.increment();
+        }
+    }
+
+    private record Key(String organisationId, List<Object> request) {
+    }
+
+    private record Entry<V>(V value, long version, long weight) {
+    }
+}
@@ -0,0 +1,126 @@
+package org.cardanofoundation.reeve.indexer.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import lombok.extern.slf4j.Slf4j;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.cardanofoundation.reeve.indexer.model.domain.ItemCursor;
+import org.cardanofoundation.reeve.indexer.model.repository.TransactionItemSearchRepository;
+import org.cardanofoundation.reeve.indexer.model.request.ExportFormat;
+import org.cardanofoundation.reeve.indexer.model.view.ExtractionTransactionItemView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Writes every item matching the search filters, in the field layout of
+ * ExtractionTransactionItemView. The items are read in keyset segments, each in a short
+ * transaction of its own, and a segment is only sent once its transaction has ended. A slow
+ * client therefore never holds a transaction open, and the heap holds one segment per export
+ * however many rows it has.
+ */
+@Service
+@Slf4j
+public class TransactionExportService {
+
+    private final TransactionItemSearchRepository transactionItemSearchRepository;
+    private final ObjectWriter itemWriter;
+    private final ObjectMapper objectMapper;
+    private final List<String> columns;
+    private final int segmentRows;
+    private final int fetchSize;
+
+    public TransactionExportService(TransactionItemSearchRepository transactionItemSearchRepository,
+            ObjectMapper objectMapper,
+            @Value("${reeve.export.segment-rows:5000}") int segmentRows,
+            @Value("${reeve.export.fetch-size:1000}") int fetchSize) {
+        this.transactionItemSearchRepository = transactionItemSearchRepository;
+        this.objectMapper = objectMapper;
+        this.itemWriter = objectMapper.writerFor(ExtractionTransactionItemView.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        // The CSV columns are the JSON fields, so both formats follow the view
+        this.columns = objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(ExtractionTransactionItemView.class))
+                .findProperties().stream()
+                .map(BeanPropertyDefinition::getName)
+                .toList();
+        this.segmentRows = segmentRows;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Streams the matching items to out and returns how many were written.
+     */
+    public long export(String organisationId, LocalDate dateFrom, LocalDate dateTo, Set<String> events,
+            Set<String> currencies, Optional<BigDecimal> minAmount, Optional<BigDecimal> maxAmount,
+            Set<String> transactionHashes, ExportFormat format, OutputStream out) throws IOException {
+        if (format == ExportFormat.CSV) {
+            out.write((String.join(",", columns) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        ByteArrayOutputStream segment = new ByteArrayOutputStream();
+        ExtractionTransactionItemView[] last = new ExtractionTransactionItemView[1];
+        ItemCursor after = null;
+        long written = 0;
+        while (true) {
+            segment.reset();
+            last[0] = null;
+            int[] rows = {0};
+            transactionItemSearchRepository.readSegment(organisationId, dateFrom, dateTo, events, currencies,
+                    minAmount, maxAmount, transactionHashes, after, segmentRows, fetchSize, item -> {
+                        write(item, format, segment);
+                        last[0] = item;
+                        rows[0]++;
+                    });
+            // The segment's transaction has ended, only now the client is written to
+            segment.writeTo(out);
+            out.flush();
+            written += rows[0];
+            if (rows[0] < segmentRows) {
+                break;
+            }
+            after = ItemCursor.of(last[0]);
+        }
+        log.info("Exported {} transaction items as {}", written, format);
+        return written;
+    }
+
+    private void write(ExtractionTransactionItemView item, ExportFormat format, ByteArrayOutputStream out) {
+        try {
+            if (format == ExportFormat.NDJSON) {
+                itemWriter.writeValue(out, item);
+            } else {
+                JsonNode fields = objectMapper.valueToTree(item);
+                StringBuilder line = new StringBuilder();
+                for (String column : columns) {
+                    if (!line.isEmpty()) {
+                        line.append(',');
+                    }
+                    line.append(csvValue(fields.path(column).asText("")));
+                }
+                out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csvValue(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
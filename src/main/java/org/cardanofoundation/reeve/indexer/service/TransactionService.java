@@ -1,47 +1,190 @@
 package org.cardanofoundation.reeve.indexer.service;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import org.cardanofoundation.reeve.indexer.model.domain.ItemCursor;
 import org.cardanofoundation.reeve.indexer.model.entity.TransactionEntity;
 import org.cardanofoundation.reeve.indexer.model.entity.TransactionItemEntity;
 import org.cardanofoundation.reeve.indexer.model.repository.TransactionItemRepository;
+import org.cardanofoundation.reeve.indexer.model.repository.TransactionItemSearchRepository;
+import org.cardanofoundation.reeve.indexer.model.repository.TransactionItemSpecifications;
 import org.cardanofoundation.reeve.indexer.model.repository.TransactionRepository;
+import org.cardanofoundation.reeve.indexer.model.request.TotalMode;
 import org.cardanofoundation.reeve.indexer.model.view.ExtractionTransactionItemView;
 import org.cardanofoundation.reeve.indexer.model.view.ExtractionTransactionView;
 import org.cardanofoundation.reeve.indexer.model.view.TransactionView;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class TransactionService {
 
+    // Rough size of a result and of each of its items, see weigh
+    private static final int VIEW_WEIGHT = 256;
+    private static final int ITEM_WEIGHT = 1024;
+
     private final TransactionRepository transactionRepository;
     private final TransactionItemRepository transactionItemRepository;
+    private final TransactionItemSearchRepository transactionItemSearchRepository;
+    private final SearchCache<ExtractionTransactionView> cache;
+    private final int cachedPages;
+
+    public TransactionService(TransactionRepository transactionRepository,
+            TransactionItemRepository transactionItemRepository,
+            TransactionItemSearchRepository transactionItemSearchRepository,
+            DataVersionService dataVersionService, MeterRegistry meterRegistry,
+            @Value("${reeve.cache.transactions.enabled:true}") boolean cacheEnabled,
+            @Value("${reeve.cache.transactions.max-entries:1000}") int cacheMaxEntries,
+            @Value("${reeve.cache.transactions.max-weight:64MB}") DataSize cacheMaxWeight,
+            @Value("${reeve.cache.transactions.pages:5}") int cachedPages) {
+        this.transactionRepository = transactionRepository;
+        this.transactionItemRepository = transactionItemRepository;
+        this.transactionItemSearchRepository = transactionItemSearchRepository;
+        this.cache = new SearchCache<>("transactions", cacheEnabled, cacheMaxEntries, cacheMaxWeight.toBytes(),
+                TransactionService::weigh, dataVersionService, meterRegistry);
+        this.cachedPages = cachedPages;
+    }
 
+    /**
+     * The items of the whole page are read with one query over the transaction ids instead of
+     * loading each transaction's lazy collection. Runs in one transaction so the items find their
+     * transaction in the persistence context.
+     */
+    @Transactional(readOnly = true)
     public Page<TransactionView> findAllTransactions(Pageable pageable) {
         Page<TransactionEntity> transactionPage = transactionRepository.findAll(pageable);
+        if (transactionPage.isEmpty()) {
+            return transactionPage.map(transaction -> TransactionView.fromEntity(transaction, List.of()));
+        }
+        Map<String, List<TransactionItemEntity>> itemsByTransaction = transactionItemRepository
+                .findByTransactionIdIn(transactionPage.map(TransactionEntity::getId).toList()).stream()
+                .collect(Collectors.groupingBy(item -> item.getTransaction().getId()));
         // Map the entity page to a DTO page
-        return transactionPage.map(TransactionView::fromEntity);
+        return transactionPage.map(transaction -> TransactionView.fromEntity(transaction,
+                itemsByTransaction.getOrDefault(transaction.getId(), List.of())));
     }
 
+    /**
+     * Offset paged search. The total is counted, estimated or left out depending on the mode,
+     * without a count only one row more than the page is read. Items are read straight into the
+     * view, see TransactionItemSearchRepository. The first pages are answered from the cache
+     * until the data of the organisation changes.
+     */
     public ExtractionTransactionView findTransactionItems(String organisationId, LocalDate dateFrom, LocalDate dateTo,
             Set<String> events,
             Set<String> currencies, Optional<BigDecimal> minAmount,
-            Optional<BigDecimal> maxAmount, Set<String> transactionHashes, Pageable pageable) {
-
-        Page<TransactionItemEntity> transactionItems = transactionItemRepository.searchItems(organisationId, dateFrom,
-                dateTo, events, currencies, minAmount, maxAmount, transactionHashes, pageable);
-        List<ExtractionTransactionItemView> itemViews = transactionItems.stream()
-                .map(ExtractionTransactionItemView::fromEntity).toList();
-        return ExtractionTransactionView.createSuccess(itemViews, transactionItems.getTotalElements(),
-                pageable.getPageNumber(), pageable.getPageSize());
+            Optional<BigDecimal> maxAmount, Set<String> transactionHashes, TotalMode totalMode, Pageable pageable) {
+        if (pageable.getPageNumber() >= cachedPages) {
+            return searchItems(organisationId, dateFrom, dateTo, events, currencies, minAmount, maxAmount,
+                    transactionHashes, totalMode, pageable);
+        }
+        return cache.get(organisationId,
+                () -> searchItems(organisationId, dateFrom, dateTo, events, currencies, minAmount, maxAmount,
+                        transactionHashes, totalMode, pageable),
+                "page", dateFrom, dateTo, normalize(events), normalize(currencies), normalize(minAmount),
+                normalize(maxAmount), normalize(transactionHashes), totalMode, pageable);
+    }
+
+    private ExtractionTransactionView searchItems(String organisationId, LocalDate dateFrom, LocalDate dateTo,
+            Set<String> events, Set<String> currencies, Optional<BigDecimal> minAmount,
+            Optional<BigDecimal> maxAmount, Set<String> transactionHashes, TotalMode totalMode, Pageable pageable) {
+
+        Specification<TransactionItemEntity> specification = TransactionItemSpecifications.search(organisationId,
+                dateFrom, dateTo, events, currencies, minAmount, maxAmount, transactionHashes);
+        Slice<ExtractionTransactionItemView> transactionItems;
+        Long total = null;
+        if (totalMode == TotalMode.EXACT) {
+            // The count is skipped when the page shows it is the last one
+            Page<ExtractionTransactionItemView> page = PageableExecutionUtils.getPage(
+                    transactionItemSearchRepository.findViews(specification, pageable.getSort(),
+                            pageable.getOffset(), pageable.getPageSize()),
+                    pageable, () -> transactionItemRepository.count(specification));
+            transactionItems = page;
+            total = page.getTotalElements();
+        } else {
+            transactionItems = transactionItemSearchRepository.findSlice(specification, pageable);
+            if (totalMode == TotalMode.ESTIMATED) {
+                // The estimate can't be below what was already seen
+                long seen = pageable.getOffset() + transactionItems.getNumberOfElements()
+                        + (transactionItems.hasNext() ? 1 : 0);
+                total = Math.max(seen, transactionItemSearchRepository.estimateCount(organisationId, dateFrom,
+                        dateTo, events, currencies, minAmount, maxAmount, transactionHashes));
+            }
+        }
+        return ExtractionTransactionView.createSuccess(transactionItems.getContent(), total, totalMode,
+                transactionItems.hasNext(), pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    /**
+     * Keyset variant of {@link #findTransactionItems} for deep paging. The page after the cursor
+     * is read by seeking to it, the skipped rows are not read. Without a cursor the page starts
+     * at the beginning, only that first page is cached.
+     */
+    public ExtractionTransactionView findTransactionItemsAfter(String organisationId, LocalDate dateFrom,
+            LocalDate dateTo, Set<String> events, Set<String> currencies, Optional<BigDecimal> minAmount,
+            Optional<BigDecimal> maxAmount, Set<String> transactionHashes, TotalMode totalMode, ItemCursor cursor,
+            int size) {
+        if (cursor != null) {
+            return searchItemsAfter(organisationId, dateFrom, dateTo, events, currencies, minAmount, maxAmount,
+                    transactionHashes, totalMode, cursor, size);
+        }
+        return cache.get(organisationId,
+                () -> searchItemsAfter(organisationId, dateFrom, dateTo, events, currencies, minAmount, maxAmount,
+                        transactionHashes, totalMode, null, size),
+                "cursor", dateFrom, dateTo, normalize(events), normalize(currencies), normalize(minAmount),
+                normalize(maxAmount), normalize(transactionHashes), totalMode, size);
+    }
+
+    private ExtractionTransactionView searchItemsAfter(String organisationId, LocalDate dateFrom,
+            LocalDate dateTo, Set<String> events, Set<String> currencies, Optional<BigDecimal> minAmount,
+            Optional<BigDecimal> maxAmount, Set<String> transactionHashes, TotalMode totalMode, ItemCursor cursor,
+            int size) {
+
+        Specification<TransactionItemEntity> search = TransactionItemSpecifications.search(organisationId,
+                dateFrom, dateTo, events, currencies, minAmount, maxAmount, transactionHashes);
+        Specification<TransactionItemEntity> specification = cursor == null
+                ? search : search.and(TransactionItemSpecifications.after(cursor));
+        // One row more than requested tells if there is a next page
+        List<ExtractionTransactionItemView> transactionItems = transactionItemSearchRepository.findViews(
+                specification, TransactionItemSpecifications.KEYSET_ORDER, 0, size + 1);
+        List<ExtractionTransactionItemView> page = transactionItems.subList(0, Math.min(size, transactionItems.size()));
+        String nextCursor = transactionItems.size() > size ? ItemCursor.of(page.getLast()).encode() : null;
+        Long total = switch (totalMode) {
+            case EXACT -> transactionItemRepository.count(search);
+            case ESTIMATED -> transactionItemSearchRepository.estimateCount(organisationId, dateFrom, dateTo,
+                    events, currencies, minAmount, maxAmount, transactionHashes);
+            case NONE -> null;
+        };
+        return ExtractionTransactionView.createSuccess(page, total, totalMode, nextCursor, size);
+    }
+
+    // A missing filter and an empty one are the same search
+    private static Set<String> normalize(Set<String> values) {
+        return values == null ? Set.of() : new HashSet<>(values);
+    }
+
+    // 10 and 10.00 are the same bound
+    private static BigDecimal normalize(Optional<BigDecimal> amount) {
+        return amount == null ? null : amount.map(BigDecimal::stripTrailingZeros).orElse(null);
+    }
+
+    private static long weigh(ExtractionTransactionView view) {
+        return VIEW_WEIGHT + (long) ITEM_WEIGHT * view.getTransactions().size();
     }
 }
@@ -0,0 +1,62 @@
+package org.cardanofoundation.reeve.indexer.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.reeve.indexer.service.DataVersionService;
+import org.cardanofoundation.reeve.indexer.service.RollupService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+import java.nio.file.Path;
+
+/**
+ * Exports or imports a snapshot and exits, run with the {@code snapshot-export} or
+ * {@code snapshot-import} profile. After an import the next regular start resumes syncing from
+ * the cursor stored in the snapshot instead of {@code store.cardano.sync-start-slot}. The rollups
+ * are not part of a snapshot, they are computed from the imported items. Neither are the data
+ * versions, the import starts a new epoch of them, see DataVersionService.
+ */
+@Component
+@ConditionalOnProperty(name = "reeve.snapshot.mode")
+@Slf4j
+public class SnapshotRunner implements ApplicationRunner {
+
+    private final SnapshotService snapshotService;
+    private final RollupService rollupService;
+    private final DataVersionService dataVersionService;
+    private final ConfigurableApplicationContext applicationContext;
+    private final String mode;
+    private final Path file;
+
+    public SnapshotRunner(SnapshotService snapshotService, RollupService rollupService,
+            DataVersionService dataVersionService, ConfigurableApplicationContext applicationContext,
+            @Value("${reeve.snapshot.mode}") String mode,
+            @Value("${reeve.snapshot.file}") Path file) {
+        this.snapshotService = snapshotService;
+        this.rollupService = rollupService;
+        this.dataVersionService = dataVersionService;
+        this.applicationContext = applicationContext;
+        this.mode = mode;
+        this.file = file;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long start = System.currentTimeMillis();
+        switch (mode) {
+            case "export" -> snapshotService.export(file);
+            case "import" -> {
+                dataVersionService.newEpoch();
+                snapshotService.restore(file);
+                rollupService.rebuild();
+            }
+            default -> throw new IllegalArgumentException("Unknown reeve.snapshot.mode " + mode
+                    + ", expected export or import");
+        }
+        log.info("Snapshot {} of {} finished in {} ms", mode, file, System.currentTimeMillis() - start);
+        System.exit(SpringApplication.exit(applicationContext, () -> 0));
+    }
+}
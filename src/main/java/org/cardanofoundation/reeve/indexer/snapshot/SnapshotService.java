@@ -0,0 +1,236 @@
+package org.cardanofoundation.reeve.indexer.snapshot;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.CopyOut;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the Reeve tables and the yaci sync cursor to a single gzip file and loads it back into
+ * an empty database. Tables are streamed with binary COPY one row at a time, so memory use does
+ * not depend on the snapshot size. The content is followed by its SHA-256, an import that does
+ * not match it is rolled back.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SnapshotService {
+
+    private static final String MAGIC = "REEVE-SNAPSHOT";
+    private static final int VERSION = 1;
+
+    // Parents before children, so the import never violates a foreign key
+    private static final List<String> TABLES = List.of(
+            "reeve_organisation",
+            "reeve_transactions",
+            "reeve_transaction_item",
+            "reeve_transaction_version",
+            "reeve_reports",
+            "reeve_report_current",
+            "reeve_metadata_journal",
+            "cursor_",
+            "era");
+
+    private final DataSource dataSource;
+
+    public void export(Path file) throws IOException, SQLException {
+        try (Connection connection = dataSource.getConnection();
+                OutputStream fileOut = new BufferedOutputStream(Files.newOutputStream(file));
+                GZIPOutputStream gzip = new GZIPOutputStream(fileOut, 1 << 16)) {
+            // One snapshot of all tables, the indexer may keep writing while the export runs
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            connection.setReadOnly(true);
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            MessageDigest digest = sha256();
+            DataOutputStream out = new DataOutputStream(new DigestOutputStream(gzip, digest));
+            out.writeUTF(MAGIC);
+            out.writeInt(VERSION);
+            for (String table : TABLES) {
+                String columns = columns(connection, table);
+                if (columns == null) {
+                    log.info("Table {} does not exist, skipping it", table);
+                    continue;
+                }
+                out.writeBoolean(true);
+                out.writeUTF(table);
+                out.writeUTF(columns);
+                long rows = 0;
+                CopyOut copyOut = copyManager.copyOut(
+                        "COPY " + table + " (" + columns + ") TO STDOUT (FORMAT binary)");
+                byte[] chunk;
+                while ((chunk = copyOut.readFromCopy()) != null) {
+                    out.writeInt(chunk.length);
+                    out.write(chunk);
+                    rows++;
+                }
+                out.writeInt(0);
+                log.info("Exported {} with {} chunks", table, rows);
+            }
+            out.writeBoolean(false);
+            writeSequences(connection, out);
+            out.flush();
+            // The checksum itself is not part of the digest
+            gzip.write(digest.digest());
+            connection.rollback();
+            log.info("Snapshot written to {}, cursor at {}", file, cursor(connection));
+        }
+    }
+
+    public void restore(Path file) throws IOException, SQLException {
+        try (Connection connection = dataSource.getConnection();
+                InputStream fileIn = new BufferedInputStream(Files.newInputStream(file));
+                GZIPInputStream gzip = new GZIPInputStream(fileIn, 1 << 16)) {
+            connection.setAutoCommit(false);
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            MessageDigest digest = sha256();
+            DataInputStream in = new DataInputStream(new DigestInputStream(gzip, digest));
+            if (!MAGIC.equals(in.readUTF()) || in.readInt() != VERSION) {
+                throw new IllegalArgumentException(file + " is not a Reeve snapshot of version " + VERSION);
+            }
+            try {
+                while (in.readBoolean()) {
+                    String table = in.readUTF();
+                    String columns = in.readUTF();
+                    if (columns(connection, table) == null) {
+                        throw new IllegalStateException("Table " + table + " does not exist, the "
+                                + "snapshot was written by a different version");
+                    }
+                    if (hasRows(connection, table)) {
+                        throw new IllegalStateException("Table " + table + " is not empty, snapshots "
+                                + "can only be imported into an empty database");
+                    }
+                    CopyIn copyIn = copyManager.copyIn(
+                            "COPY " + table + " (" + columns + ") FROM STDIN (FORMAT binary)");
+                    try {
+                        int length;
+                        while ((length = in.readInt()) > 0) {
+                            byte[] chunk = in.readNBytes(length);
+                            copyIn.writeToCopy(chunk, 0, chunk.length);
+                        }
+                        log.info("Imported {} with {} rows", table, copyIn.endCopy());
+                    } finally {
+                        if (copyIn.isActive()) {
+                            copyIn.cancelCopy();
+                        }
+                    }
+                }
+                restoreSequences(connection, in);
+                byte[] expected = digest.digest();
+                if (!Arrays.equals(expected, gzip.readNBytes(expected.length))) {
+                    throw new IllegalStateException("Checksum of " + file + " does not match, "
+                            + "the snapshot is corrupt");
+                }
+                connection.commit();
+            } catch (IOException | SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+            log.info("Snapshot {} imported, cursor at {}", file, cursor(connection));
+        }
+    }
+
+    private static void writeSequences(Connection connection, DataOutputStream out)
+            throws SQLException, IOException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT sequencename, last_value FROM pg_sequences
+                WHERE schemaname = current_schema() AND last_value IS NOT NULL
+                ORDER BY sequencename
+                """); ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                out.writeBoolean(true);
+                out.writeUTF(resultSet.getString(1));
+                out.writeLong(resultSet.getLong(2));
+            }
+        }
+        out.writeBoolean(false);
+    }
+
+    private static void restoreSequences(Connection connection, DataInputStream in)
+            throws SQLException, IOException {
+        while (in.readBoolean()) {
+            String sequence = in.readUTF();
+            long lastValue = in.readLong();
+            try (PreparedStatement statement = connection.prepareStatement("""
+                    SELECT setval(to_regclass(quote_ident(?)), ?)
+                    WHERE to_regclass(quote_ident(?)) IS NOT NULL
+                    """)) {
+                statement.setString(1, sequence);
+                statement.setLong(2, lastValue);
+                statement.setString(3, sequence);
+                statement.execute();
+            }
+        }
+    }
+
+    /**
+     * Returns the quoted column list of a table in the current schema, or null if there is no
+     * such table.
+     */
+    private static String columns(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT string_agg(quote_ident(column_name), ', ' ORDER BY ordinal_position)
+                FROM information_schema.columns
+                WHERE table_schema = current_schema() AND table_name = ?
+                """)) {
+            statement.setString(1, table);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        }
+    }
+
+    private static boolean hasRows(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT EXISTS (SELECT 1 FROM " + table + ")");
+                ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() && resultSet.getBoolean(1);
+        }
+    }
+
+    private static String cursor(Connection connection) throws SQLException {
+        if (columns(connection, "cursor_") == null) {
+            return "no cursor";
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT slot, block_hash FROM cursor_ ORDER BY slot DESC LIMIT 1");
+                ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next()
+                    ? "slot " + resultSet.getLong(1) + " block " + resultSet.getString(2)
+                    : "no cursor";
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
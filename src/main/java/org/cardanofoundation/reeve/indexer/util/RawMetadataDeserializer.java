@@ -1,20 +1,43 @@
 package org.cardanofoundation.reeve.indexer.util;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.io.NumberInput;
 import com.fasterxml.jackson.databind.DeserializationContext;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.cardanofoundation.reeve.indexer.model.domain.CostCenter;
+import org.cardanofoundation.reeve.indexer.model.domain.CounterParty;
+import org.cardanofoundation.reeve.indexer.model.domain.Currency;
+import org.cardanofoundation.reeve.indexer.model.domain.Document;
+import org.cardanofoundation.reeve.indexer.model.domain.Event;
 import org.cardanofoundation.reeve.indexer.model.domain.Interval;
 import org.cardanofoundation.reeve.indexer.model.domain.Organisation;
 import org.cardanofoundation.reeve.indexer.model.domain.Project;
 import org.cardanofoundation.reeve.indexer.model.domain.RawMetadata;
 import org.cardanofoundation.reeve.indexer.model.domain.ReeveTransactionType;
 import org.cardanofoundation.reeve.indexer.model.domain.Transaction;
+import org.cardanofoundation.reeve.indexer.model.domain.TransactionItem;
+import org.cardanofoundation.reeve.indexer.model.domain.Vat;
 
 import java.io.IOException;
-import java.util.Arrays;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
 
+/**
+ * Streaming deserializer for label 1447 payloads.
+ *
+ * The payload is consumed in a single forward pass over the parser, no intermediate
+ * {@code JsonNode} tree is built. Transactions and their items are mapped by hand using the
+ * snake_case property names configured in {@code spring.jackson.property-naming-strategy}.
+ * If {@code data} appears before {@code type} it is buffered as tokens and decoded once the
+ * type is known.
+ */
 public class RawMetadataDeserializer extends StdDeserializer<RawMetadata> {
 
     public RawMetadataDeserializer() {
@@ -27,73 +50,269 @@ public class RawMetadataDeserializer extends StdDeserializer<RawMetadata> {
 
     @Override
     public RawMetadata deserialize(JsonParser parser, DeserializationContext context) throws IOException {
-        // Get the codec from the parser to work with JSON nodes
         ObjectCodec codec = parser.getCodec();
-        // Read the entire JSON structure into a JsonNode tree
-        JsonNode rootNode = codec.readTree(parser);
-
-        // 1. Determine the 'type' of the transaction
-        JsonNode typeNode = rootNode.get("type");
-        if (typeNode == null || typeNode.isNull()) {
-            throw new IOException("'type' field is missing or null");
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
         }
-        ReeveTransactionType type = ReeveTransactionType.valueOf(typeNode.asText());
 
-        // 2. Deserialize the 'data' field based on the 'type'
-        JsonNode dataNode = rootNode.get("data");
+        RawMetadata rawMetadata = new RawMetadata();
+        ReeveTransactionType type = null;
         Object data = null;
+        TokenBuffer bufferedData = null;
 
-        if (dataNode != null && !dataNode.isNull()) {
-            switch (type) {
-                case INDIVIDUAL_TRANSACTIONS:
-                    // If the type indicates transactions, parse 'data' as an array of Transaction
-                    Transaction[] transactions = codec.treeToValue(dataNode, Transaction[].class);
-                    data = Arrays.asList(transactions);
-                    break;
-
-                case REPORT:
-                    // If the type is a report, parse 'data' as a ReportData object
-                    data = dataNode.toString();
-                    break;
-
-                default:
-                    // Handle other types or throw an error if necessary
-                    break;
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String fieldName = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            switch (fieldName) {
+                case "type" -> type = valueToken == JsonToken.VALUE_NULL
+                        ? null
+                        : ReeveTransactionType.valueOf(asText(parser));
+                case "data" -> {
+                    data = null;
+                    bufferedData = null;
+                    if (valueToken == JsonToken.VALUE_NULL) {
+                        break;
+                    }
+                    if (type != null) {
+                        data = readData(parser, context, codec, type);
+                    } else {
+                        // 'type' has not been seen yet, keep the raw tokens until it shows up
+                        bufferedData = context.bufferAsCopyOfValue(parser);
+                    }
+                }
+                case "ver" -> rawMetadata.setVer(asLong(parser));
+                case "year" -> rawMetadata.setYear(asInt(parser));
+                case "subType" -> rawMetadata.setSubType(asText(parser));
+                case "interval" -> rawMetadata.setInterval(Interval.valueOf(asText(parser)));
+                case "period" -> rawMetadata.setPeriod(asInt(parser));
+                case "org" -> rawMetadata.setOrg(valueToken == JsonToken.VALUE_NULL
+                        ? null
+                        : context.readValue(parser, Organisation.class));
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (type == null) {
+            throw new IOException("'type' field is missing or null");
+        }
+        if (bufferedData != null) {
+            try (JsonParser bufferParser = bufferedData.asParserOnFirstToken()) {
+                data = readData(bufferParser, context, codec, type);
             }
         }
 
-        // 3. Manually construct the RawMetadata object
-        // This approach avoids trying to deserialize 'data' twice.
-        RawMetadata rawMetadata = new RawMetadata();
         rawMetadata.setType(type);
         rawMetadata.setData(data);
+        return rawMetadata;
+    }
 
-        // Deserialize other fields as needed (this example keeps it simple)
-        // For a full implementation, you would map all other fields from rootNode here.
-        if (rootNode.has("ver")) {
-            rawMetadata.setVer(rootNode.get("ver").asLong());
+    private Object readData(JsonParser parser, DeserializationContext context, ObjectCodec codec,
+            ReeveTransactionType type) throws IOException {
+        return switch (type) {
+            case INDIVIDUAL_TRANSACTIONS -> readList(parser, context, Transaction.class,
+                    () -> readTransaction(parser, context));
+            // Reports are stored as raw JSON, copy the tokens without materializing them
+            case REPORT -> copyToString(parser, codec);
+        };
+    }
+
+    private Transaction readTransaction(JsonParser parser, DeserializationContext context) throws IOException {
+        return readObject(parser, context, Transaction.class, Transaction::new,
+                (transaction, fieldName) -> {
+                    switch (fieldName) {
+                        case "id" -> transaction.setId(readString(parser, context));
+                        case "number" -> transaction.setNumber(readString(parser, context));
+                        case "batch_id" -> transaction.setBatchId(readString(parser, context));
+                        case "accounting_period" -> transaction.setAccountingPeriod(readString(parser, context));
+                        case "type" -> transaction.setType(readString(parser, context));
+                        case "date" -> transaction.setDate(parser.currentToken() == JsonToken.VALUE_NULL
+                                ? null
+                                : context.readValue(parser, LocalDate.class));
+                        case "items" -> transaction.setItems(readList(parser, context, TransactionItem.class,
+                                () -> readTransactionItem(parser, context)));
+                        default -> parser.skipChildren();
+                    }
+                });
+    }
+
+    private TransactionItem readTransactionItem(JsonParser parser, DeserializationContext context) throws IOException {
+        return readObject(parser, context, TransactionItem.class, TransactionItem::new,
+                (item, fieldName) -> {
+                    switch (fieldName) {
+                        case "id" -> item.setId(readString(parser, context));
+                        case "amount" -> item.setAmount(readString(parser, context));
+                        case "fx_rate" -> item.setFxRate(readString(parser, context));
+                        case "document" -> item.setDocument(readDocument(parser, context));
+                        case "cost_center" -> item.setCostCenter(readObject(parser, context, CostCenter.class,
+                                CostCenter::new, (costCenter, name) -> {
+                                    switch (name) {
+                                        case "name" -> costCenter.setName(readString(parser, context));
+                                        case "cust_code" -> costCenter.setCustCode(readString(parser, context));
+                                        default -> parser.skipChildren();
+                                    }
+                                }));
+                        case "project" -> item.setProject(readObject(parser, context, Project.class,
+                                Project::new, (project, name) -> {
+                                    switch (name) {
+                                        case "name" -> project.setName(readString(parser, context));
+                                        case "cust_code" -> project.setCustCode(readString(parser, context));
+                                        default -> parser.skipChildren();
+                                    }
+                                }));
+                        case "counter_party" -> item.setCounterParty(readObject(parser, context,
+                                CounterParty.class, CounterParty::new, (counterParty, name) -> {
+                                    switch (name) {
+                                        case "type" -> counterParty.setType(readString(parser, context));
+                                        case "cust_code" -> counterParty.setCustCode(readString(parser, context));
+                                        default -> parser.skipChildren();
+                                    }
+                                }));
+                        case "event" -> item.setEvent(readObject(parser, context, Event.class,
+                                Event::new, (event, name) -> {
+                                    switch (name) {
+                                        case "code" -> event.setCode(readString(parser, context));
+                                        case "name" -> event.setName(readString(parser, context));
+                                        default -> parser.skipChildren();
+                                    }
+                                }));
+                        default -> parser.skipChildren();
+                    }
+                });
+    }
+
+    private Document readDocument(JsonParser parser, DeserializationContext context) throws IOException {
+        return readObject(parser, context, Document.class, Document::new, (document, fieldName) -> {
+            switch (fieldName) {
+                case "number" -> document.setNumber(readString(parser, context));
+                case "vat" -> document.setVat(readObject(parser, context, Vat.class, Vat::new,
+                        (vat, name) -> {
+                            switch (name) {
+                                case "rate" -> vat.setRate(readString(parser, context));
+                                case "cust_code" -> vat.setCustCode(readString(parser, context));
+                                default -> parser.skipChildren();
+                            }
+                        }));
+                case "currency" -> document.setCurrency(readObject(parser, context, Currency.class,
+                        Currency::new, (currency, name) -> {
+                            switch (name) {
+                                case "id" -> currency.setId(readString(parser, context));
+                                case "cust_code" -> currency.setCustCode(readString(parser, context));
+                                default -> parser.skipChildren();
+                            }
+                        }));
+                default -> parser.skipChildren();
+            }
+        });
+    }
+
+    /**
+     * Reads the object the parser currently points at. {@code fieldReader} is called with the
+     * parser positioned on each field value and has to consume that value completely.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T readObject(JsonParser parser, DeserializationContext context, Class<T> valueType,
+            Supplier<T> factory, FieldReader<T> fieldReader) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            return (T) context.handleUnexpectedToken(valueType, parser);
         }
-        if (rootNode.has("year")) {
-            rawMetadata.setYear(rootNode.get("year").asInt());
+        T value = factory.get();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            fieldReader.read(value, fieldName);
         }
-        if (rootNode.has("subType")) {
-            rawMetadata.setSubType(rootNode.get("subType").asText());
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> readList(JsonParser parser, DeserializationContext context, Class<T> elementType,
+            ElementReader<T> elementReader) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
         }
-        if (rootNode.has("interval")) {
-            String intervalText = rootNode.get("interval").asText();
-            rawMetadata.setInterval(Interval.valueOf(intervalText));
+        if (token != JsonToken.START_ARRAY) {
+            return (List<T>) context.handleUnexpectedToken(elementType.arrayType(), parser);
         }
-        if (rootNode.has("period")) {
-            rawMetadata.setPeriod(rootNode.get("period").asInt());
+        List<T> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(elementReader.read());
         }
-        if (rootNode.has("org")) {
-            JsonNode orgNode = rootNode.get("org");
-            if (orgNode != null && !orgNode.isNull()) {
-                // Assuming Organisation is a class that can be deserialized from JSON
-                rawMetadata.setOrg(codec.treeToValue(orgNode, Organisation.class));
-            }
+        return values;
+    }
+
+    /**
+     * Mirrors the String coercion of the bean deserializer: scalars are converted to their
+     * textual form, containers are rejected.
+     */
+    private static String readString(JsonParser parser, DeserializationContext context) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_STRING, VALUE_TRUE, VALUE_FALSE -> parser.getText();
+            case VALUE_NULL -> null;
+            case VALUE_NUMBER_INT -> parser.getNumberValue().toString();
+            case VALUE_NUMBER_FLOAT -> String.valueOf(parser.getDoubleValue());
+            default -> (String) context.handleUnexpectedToken(String.class, parser);
+        };
+    }
+
+    private static String copyToString(JsonParser parser, ObjectCodec codec) throws IOException {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = codec.getFactory().createGenerator(writer)) {
+            generator.copyCurrentStructure(parser);
         }
+        return writer.toString();
+    }
 
-        return rawMetadata;
+    // The header fields keep the lenient JsonNode.asText()/asInt()/asLong() conversions
+
+    private static String asText(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_STRING, VALUE_TRUE, VALUE_FALSE, VALUE_NULL -> parser.getText();
+            case VALUE_NUMBER_INT -> parser.getNumberValue().toString();
+            case VALUE_NUMBER_FLOAT -> String.valueOf(parser.getDoubleValue());
+            default -> {
+                parser.skipChildren();
+                yield "";
+            }
+        };
+    }
+
+    private static long asLong(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_STRING -> NumberInput.parseAsLong(parser.getText(), 0L);
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue().longValue();
+            case VALUE_TRUE -> 1L;
+            default -> {
+                parser.skipChildren();
+                yield 0L;
+            }
+        };
+    }
+
+    private static int asInt(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_STRING -> NumberInput.parseAsInt(parser.getText(), 0);
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue().intValue();
+            case VALUE_TRUE -> 1;
+            default -> {
+                parser.skipChildren();
+                yield 0;
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface FieldReader<T> {
+        void read(T value, String fieldName) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ElementReader<T> {
+        T read() throws IOException;
     }
 }
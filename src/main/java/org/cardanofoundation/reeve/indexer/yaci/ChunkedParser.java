@@ -0,0 +1,62 @@
+package org.cardanofoundation.reeve.indexer.yaci;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Applies a CPU bound mapping like parsing to a batch of payloads. Batches from catch-up are
+ * split into one chunk per processor and mapped on virtual threads, smaller batches near the tip
+ * stay on the calling thread where handing them off costs more than it saves. The result keeps
+ * the order of the input either way.
+ */
+@Component
+public class ChunkedParser {
+
+    private final int parallelThreshold;
+    private final int parallelism;
+
+    @Autowired
+    public ChunkedParser(@Value("${reeve.ingest.parallel-parse-threshold:8}") int parallelThreshold) {
+        this(parallelThreshold, Runtime.getRuntime().availableProcessors());
+    }
+
+    ChunkedParser(int parallelThreshold, int parallelism) {
+        this.parallelThreshold = parallelThreshold;
+        this.parallelism = parallelism;
+    }
+
+    public <T, R> List<R> mapAll(List<T> inputs, Function<T, R> mapper) {
+        if (inputs.size() < parallelThreshold || parallelism < 2) {
+            return inputs.stream().map(mapper).toList();
+        }
+        int chunkSize = Math.ceilDiv(inputs.size(), parallelism);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<R>>> chunks = new ArrayList<>();
+            for (int from = 0; from < inputs.size(); from += chunkSize) {
+                List<T> chunk = inputs.subList(from, Math.min(from + chunkSize, inputs.size()));
+                chunks.add(executor.submit(() -> chunk.stream().map(mapper).toList()));
+            }
+            List<R> results = new ArrayList<>(inputs.size());
+            for (Future<List<R>> chunk : chunks) {
+                results.addAll(chunk.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing metadata", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -4,26 +4,17 @@ import com.bloxbean.cardano.yaci.store.metadata.domain.TxMetadataLabel;
 import com.bloxbean.cardano.yaci.store.metadata.storage.impl.TxMetadataStorageImpl;
 import com.bloxbean.cardano.yaci.store.metadata.storage.impl.mapper.MetadataMapper;
 import com.bloxbean.cardano.yaci.store.metadata.storage.impl.repository.TxMetadataLabelRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.cardanofoundation.reeve.indexer.model.domain.RawMetadata;
-import org.cardanofoundation.reeve.indexer.model.domain.ReeveTransactionType;
-import org.cardanofoundation.reeve.indexer.model.domain.Transaction;
-import org.cardanofoundation.reeve.indexer.model.entity.OrganisationEntity;
-import org.cardanofoundation.reeve.indexer.model.entity.ReportEntity;
-import org.cardanofoundation.reeve.indexer.model.entity.TransactionEntity;
-import org.cardanofoundation.reeve.indexer.model.repository.OrganisationRepository;
-import org.cardanofoundation.reeve.indexer.model.repository.ReportRepository;
-import org.cardanofoundation.reeve.indexer.model.repository.TransactionRepository;
-import org.hibernate.exception.ConstraintViolationException;
+import org.cardanofoundation.reeve.indexer.model.entity.MetadataJournalEntity;
+import org.cardanofoundation.reeve.indexer.model.repository.RollbackRepository;
+import org.cardanofoundation.reeve.indexer.service.DataVersionService;
+import org.cardanofoundation.reeve.indexer.util.Gzip;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 
 @Component
 @Slf4j
@@ -31,74 +22,72 @@ public class CustomMetadataStorage extends TxMetadataStorageImpl {
 
     @Value("${reeve.label}")
     private String metadataLabel;
-    private final ObjectMapper objectMapper;
-    private final TransactionRepository transactionRepository;
-    private final ReportRepository reportRepository;
-    private final OrganisationRepository organisationRepository;
+    private final MetadataParser metadataParser;
+    private final ChunkedParser chunkedParser;
+    private final IngestPipeline ingestPipeline;
+    private final RollbackRepository rollbackRepository;
+    private final OrganisationRegistry organisationRegistry;
+    private final DataVersionService dataVersionService;
 
-    public CustomMetadataStorage(ObjectMapper objectMapper,
-            TransactionRepository transactionRepository, ReportRepository reportRepository,
-            TxMetadataLabelRepository metadataLabelRepository, MetadataMapper metadataMapper,
-            OrganisationRepository organisationRepository) {
+    public CustomMetadataStorage(TxMetadataLabelRepository metadataLabelRepository,
+            MetadataMapper metadataMapper, MetadataParser metadataParser,
+            ChunkedParser chunkedParser, IngestPipeline ingestPipeline,
+            RollbackRepository rollbackRepository, OrganisationRegistry organisationRegistry,
+            DataVersionService dataVersionService) {
         super(metadataLabelRepository, metadataMapper);
-        this.objectMapper = objectMapper;
-        this.transactionRepository = transactionRepository;
-        this.reportRepository = reportRepository;
-        this.organisationRepository = organisationRepository;
+        this.metadataParser = metadataParser;
+        this.chunkedParser = chunkedParser;
+        this.ingestPipeline = ingestPipeline;
+        this.rollbackRepository = rollbackRepository;
+        this.organisationRegistry = organisationRegistry;
+        this.dataVersionService = dataVersionService;
     }
 
     @Override
-    @Transactional
     public List<TxMetadataLabel> saveAll(List<TxMetadataLabel> txMetadataLabelsList) {
-        List<RawMetadata> list = txMetadataLabelsList.stream()
-                .filter(metadata -> metadata.getLabel().equals(metadataLabel)).map(metadata -> {
-                    try {
-                        RawMetadata rawMetadata =
-                                objectMapper.readValue(metadata.getBody(), RawMetadata.class);
-                        rawMetadata.setTxHash(metadata.getTxHash());
-                        return rawMetadata;
-                    } catch (JsonProcessingException e) {
-                        log.error("Can't parse metadata of transaction: {}, error: {}",
-                                metadata.getTxHash(), e.getMessage());
-                        return null;
-                    }
-                }).filter(Objects::nonNull).toList();
+        List<TxMetadataLabel> reeveMetadata = txMetadataLabelsList.stream()
+                .filter(metadata -> metadata.getLabel().equals(metadataLabel)).toList();
+        if (reeveMetadata.isEmpty()) {
+            return List.of();
+        }
 
-        if (!list.isEmpty()) {
-            list.forEach(rawMetadata -> {
-                // Store organisation if not exists, handle race condition in parallel events
-                organisationRepository.saveIfNotExists(rawMetadata.getOrg().getId(),
-                        rawMetadata.getOrg().getName(),
-                        rawMetadata.getOrg().getCurrencyId(),
-                        rawMetadata.getOrg().getCountryCode(),
-                        rawMetadata.getOrg().getTaxIdNumber());
+        // Compressing and parsing are the CPU heavy part, large batches are spread over threads
+        List<Parsed> parsed = chunkedParser.mapAll(reeveMetadata, this::parse);
+        // Every body is journaled, including the ones that are filtered out or fail to parse
+        List<MetadataJournalEntity> journal = parsed.stream().map(Parsed::journal).toList();
+        List<RawMetadata> list = parsed.stream().map(Parsed::metadata).filter(Objects::nonNull).toList();
 
-                if (rawMetadata.getType() == ReeveTransactionType.INDIVIDUAL_TRANSACTIONS) {
-                    List<TransactionEntity> transactionEntities =
-                            ((List<Transaction>) rawMetadata.getData()).stream()
-                                    .map(transaction -> {
-                                        TransactionEntity entity = transaction.toEntity();
-                                        entity.setOrganisationId(rawMetadata.getOrg().getId());
-                                        entity.setTxHash(rawMetadata.getTxHash());
-                                        return entity;
-                                    }).toList();
-                    transactionRepository.saveAll(transactionEntities);
-                }
-                if (rawMetadata.getType() == ReeveTransactionType.REPORT) {
-                    ReportEntity reportEntity = ReportEntity.builder()
-                            .organisationId(rawMetadata.getOrg().getId())
-                            .txHash(rawMetadata.getTxHash()).interval(rawMetadata.getInterval())
-                            .year(rawMetadata.getYear())
-                            .period(rawMetadata.getPeriod())
-                            .subType(rawMetadata.getSubType())
-                            .ver(rawMetadata.getVer())
-                            .fields((String) rawMetadata.getData()).build();
-                    reportRepository.save(reportEntity);
-                }
-            });
-        }
+        ingestPipeline.submit(list, journal);
 
         return List.of(); // Prevent yaci from storing unrelated metadata
     }
 
+    private Parsed parse(TxMetadataLabel metadata) {
+        MetadataJournalEntity journal = MetadataJournalEntity.builder()
+                .txHash(metadata.getTxHash())
+                .slot(metadata.getSlot())
+                .blockNumber(metadata.getBlockNumber())
+                .body(Gzip.compress(metadata.getBody()))
+                .build();
+        return new Parsed(journal, metadataParser.parse(metadata.getTxHash(), metadata.getSlot(),
+                metadata.getBlockNumber(), metadata.getBody()));
+    }
+
+    @Override
+    @Transactional
+    public int deleteBySlotGreaterThan(long slot) {
+        // Queued payloads may belong to the rolled back blocks, they have to be stored before the
+        // delete so it sees them
+        ingestPipeline.flush();
+        int deleted = super.deleteBySlotGreaterThan(slot)
+                + rollbackRepository.deleteBySlotGreaterThan(slot);
+        organisationRegistry.reload();
+        // The organisations that changed above the slot get a new version, never an old one back
+        dataVersionService.rolledBack(slot);
+        log.info("Rolled back to slot {}, deleted {} rows", slot, deleted);
+        return deleted;
+    }
+
+    private record Parsed(MetadataJournalEntity journal, RawMetadata metadata) {
+    }
 }
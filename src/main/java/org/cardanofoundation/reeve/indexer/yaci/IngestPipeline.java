@@ -0,0 +1,228 @@
+package org.cardanofoundation.reeve.indexer.yaci;
+
+import com.bloxbean.cardano.yaci.store.events.internal.CommitEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.reeve.indexer.model.domain.RawMetadata;
+import org.cardanofoundation.reeve.indexer.model.entity.MetadataJournalEntity;
+import org.cardanofoundation.reeve.indexer.model.repository.MetadataJournalRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decouples parsing from persistence. yaci's event threads submit parsed payloads into a
+ * bounded queue and block while it is full. A single writer thread drains the queue and commits
+ * several submissions in one database transaction once {@code reeve.ingest.commit-rows} rows
+ * are collected or {@code reeve.ingest.commit-interval} has passed.
+ * Before yaci moves its sync cursor it publishes a {@link CommitEvent}, which waits until
+ * everything submitted so far is committed.
+ * A group that can't be committed stops the pipeline: every later submission is failed
+ * without a write and every later submit and flush throws, until a restart resumes from the
+ * cursor yaci kept. The cursor can't move past blocks that were never stored.
+ * The time a submission waits for room in the queue shows whether the writer is the
+ * bottleneck, {@code reeve.ingest.slot.lag} the wall-clock age of the last committed block.
+ */
+@Component
+@Slf4j
+public class IngestPipeline {
+
+    private final BlockingQueue<Submission> queue;
+    private final MetadataWriter metadataWriter;
+    private final MetadataJournalRepository metadataJournalRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int commitRows;
+    private final long commitIntervalNanos;
+    private final Timer submitTimer;
+    private final Timer commitTimer;
+    private final Timer journalTimer;
+    private final Counter journalRows;
+    private final DistributionSummary batchRows;
+    private volatile long committedSlot = -1;
+    private volatile long committedBlockTime = -1;
+    private volatile boolean running;
+    // The first commit that failed, see failIfStopped
+    private volatile RuntimeException failure;
+    private Thread writerThread;
+
+    public IngestPipeline(MetadataWriter metadataWriter,
+            MetadataJournalRepository metadataJournalRepository, TransactionTemplate transactionTemplate,
+            @Value("${reeve.ingest.queue-capacity:256}") int queueCapacity,
+            @Value("${reeve.ingest.commit-rows:5000}") int commitRows,
+            @Value("${reeve.ingest.commit-interval:500ms}") Duration commitInterval,
+            MeterRegistry meterRegistry) {
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.metadataWriter = metadataWriter;
+        this.metadataJournalRepository = metadataJournalRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.commitRows = commitRows;
+        this.commitIntervalNanos = commitInterval.toNanos();
+        this.submitTimer = Timer.builder("reeve.ingest.submit").register(meterRegistry);
+        this.commitTimer = Timer.builder("reeve.ingest.commit").register(meterRegistry);
+        this.journalTimer = MetadataWriter.persistTimer("journal", meterRegistry);
+        this.journalRows = MetadataWriter.rowCounter("reeve_metadata_journal", meterRegistry);
+        this.batchRows = DistributionSummary.builder("reeve.ingest.batch.rows").baseUnit("rows")
+                .register(meterRegistry);
+        Gauge.builder("reeve.ingest.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("reeve.ingest.slot", this, IngestPipeline::slot).register(meterRegistry);
+        // A Cardano slot lasts one second, so the age of the last committed block is the slot lag
+        Gauge.builder("reeve.ingest.slot.lag", this, IngestPipeline::slotLag).baseUnit("slots")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writerThread = Thread.ofPlatform().name("reeve-ingest-writer").daemon().start(this::drain);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * Queues parsed payloads and their journal entries for the writer, blocks while the queue
+     * is full.
+     */
+    public void submit(List<RawMetadata> metadata, List<MetadataJournalEntity> journal) {
+        failIfStopped();
+        int rows = journal.size() + metadata.stream().mapToInt(MetadataWriter::rowCount).sum();
+        Submission submission = new Submission(metadata, journal, rows, false, new CompletableFuture<>());
+        submitTimer.record(() -> enqueue(submission));
+    }
+
+    /**
+     * Blocks until every submission made before this call has been committed. Throws if any of
+     * them, or any earlier one, could not be committed.
+     */
+    public void flush() {
+        failIfStopped();
+        Submission marker = new Submission(List.of(), List.of(), 0, true, new CompletableFuture<>());
+        enqueue(marker);
+        try {
+            marker.committed().join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Reeve metadata could not be committed", e.getCause());
+        }
+        // Groups are committed in order, a failure before the marker is recorded by now
+        failIfStopped();
+    }
+
+    @EventListener
+    public void handleCommit(CommitEvent commitEvent) {
+        flush();
+        if (commitEvent.getMetadata() != null) {
+            committedSlot = commitEvent.getMetadata().getSlot();
+            committedBlockTime = commitEvent.getMetadata().getBlockTime();
+        }
+    }
+
+    private double slot() {
+        return committedSlot < 0 ? Double.NaN : committedSlot;
+    }
+
+    private double slotLag() {
+        return committedBlockTime < 0 ? Double.NaN
+                : Math.max(0, Instant.now().getEpochSecond() - committedBlockTime);
+    }
+
+    private void failIfStopped() {
+        if (failure != null) {
+            throw new IllegalStateException("Reeve metadata could not be committed, ingest stopped until restart",
+                    failure);
+        }
+    }
+
+    private void enqueue(Submission submission) {
+        if (!running) {
+            throw new IllegalStateException("Ingest pipeline is not running");
+        }
+        try {
+            queue.put(submission);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the ingest queue", e);
+        }
+    }
+
+    private void drain() {
+        List<Submission> group = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Submission first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                int rows = first.rows();
+                long deadline = System.nanoTime() + commitIntervalNanos;
+                // A flush marker ends the group right away, everything before it gets committed
+                while (!group.getLast().flush() && rows < commitRows) {
+                    Submission next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                    rows += next.rows();
+                }
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<Submission> group) {
+        List<RawMetadata> metadata = group.stream().flatMap(submission -> submission.metadata().stream()).toList();
+        List<MetadataJournalEntity> journal = group.stream().flatMap(submission -> submission.journal().stream()).toList();
+        int rows = group.stream().mapToInt(Submission::rows).sum();
+        if (failure != null) {
+            group.forEach(submission -> submission.committed().completeExceptionally(failure));
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                journalTimer.record(() -> metadataJournalRepository.saveAll(journal));
+                journalRows.increment(journal.size());
+                metadataWriter.write(metadata);
+            });
+            commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (rows > 0) {
+                batchRows.record(rows);
+            }
+            group.forEach(submission -> submission.committed().complete(null));
+        } catch (RuntimeException e) {
+            log.error("Can't store {} metadata entries, ingest stopped until restart: {}", metadata.size(),
+                    e.getMessage());
+            failure = e;
+            group.forEach(submission -> submission.committed().completeExceptionally(e));
+        }
+    }
+
+    private record Submission(List<RawMetadata> metadata, List<MetadataJournalEntity> journal,
+            int rows, boolean flush,
+            CompletableFuture<Void> committed) {
+    }
+}
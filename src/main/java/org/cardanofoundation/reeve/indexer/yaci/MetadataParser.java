@@ -0,0 +1,68 @@
+package org.cardanofoundation.reeve.indexer.yaci;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.reeve.indexer.model.domain.RawMetadata;
+import org.cardanofoundation.reeve.indexer.model.domain.ReeveTransactionType;
+import org.springframework.stereotype.Component;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns a label 1447 body into {@link RawMetadata}, shared by the live sync and the journal
+ * reprocessing.
+ */
+@Component
+@Slf4j
+public class MetadataParser {
+
+    private final ObjectMapper objectMapper;
+    private final OrganisationAllowlist organisationAllowlist;
+    private final Timer parseTimer;
+    private final Counter failures;
+    private final Map<ReeveTransactionType, Counter> payloads = new EnumMap<>(ReeveTransactionType.class);
+
+    public MetadataParser(ObjectMapper objectMapper, OrganisationAllowlist organisationAllowlist,
+            MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.organisationAllowlist = organisationAllowlist;
+        this.parseTimer = Timer.builder("reeve.ingest.parse").register(meterRegistry);
+        this.failures = Counter.builder("reeve.ingest.parse.failures").register(meterRegistry);
+        for (ReeveTransactionType type : ReeveTransactionType.values()) {
+            payloads.put(type, Counter.builder("reeve.ingest.payloads").tag("type", type.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Returns null if the payload belongs to an organisation that is not followed or can't be
+     * parsed.
+     */
+    public RawMetadata parse(String txHash, Long slot, Long blockNumber, String body) {
+        if (!organisationAllowlist.accepts(body)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            RawMetadata rawMetadata = objectMapper.readValue(body, RawMetadata.class);
+            rawMetadata.setTxHash(txHash);
+            rawMetadata.setSlot(slot);
+            rawMetadata.setBlockNumber(blockNumber);
+            if (rawMetadata.getType() != null) {
+                payloads.get(rawMetadata.getType()).increment();
+            }
+            return rawMetadata;
+        } catch (JsonProcessingException e) {
+            failures.increment();
+            log.error("Can't parse metadata of transaction: {}, error: {}", txHash, e.getMessage());
+            return null;
+        } finally {
+            parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.cardanofoundation.reeve.indexer.yaci;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.reeve.indexer.model.domain.RawMetadata;
+import org.cardanofoundation.reeve.indexer.model.entity.MetadataJournalEntity;
+import org.cardanofoundation.reeve.indexer.model.repository.MetadataJournalRepository;
+import org.cardanofoundation.reeve.indexer.service.DataVersionService;
+import org.cardanofoundation.reeve.indexer.util.Gzip;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Rebuilds all Reeve tables from the metadata journal instead of syncing the chain again, run
+ * with the {@code reprocess} profile. Pages of the journal are decompressed and parsed in
+ * parallel, then written in journal order so the result matches a live sync. The rebuilt
+ * tables start a new data epoch, see DataVersionService.
+ */
+@Component
+@ConditionalOnProperty(name = "reeve.reprocess.enabled", havingValue = "true")
+@Slf4j
+public class MetadataReprocessor implements ApplicationRunner {
+
+    private final MetadataJournalRepository metadataJournalRepository;
+    private final MetadataParser metadataParser;
+    private final MetadataWriter metadataWriter;
+    private final OrganisationRegistry organisationRegistry;
+    private final DataVersionService dataVersionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConfigurableApplicationContext applicationContext;
+    private final int pageSize;
+    private final int threads;
+
+    public MetadataReprocessor(MetadataJournalRepository metadataJournalRepository,
+            MetadataParser metadataParser, MetadataWriter metadataWriter,
+            OrganisationRegistry organisationRegistry, DataVersionService dataVersionService,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate, ConfigurableApplicationContext applicationContext,
+            @Value("${reeve.reprocess.page-size:1000}") int pageSize,
+            @Value("${reeve.reprocess.threads:0}") int threads) {
+        this.metadataJournalRepository = metadataJournalRepository;
+        this.metadataParser = metadataParser;
+        this.metadataWriter = metadataWriter;
+        this.organisationRegistry = organisationRegistry;
+        this.dataVersionService = dataVersionService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.applicationContext = applicationContext;
+        this.pageSize = pageSize;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        log.info("Reprocessing metadata journal with {} threads", threads);
+        jdbcTemplate.execute("TRUNCATE reeve_transaction_item, reeve_transactions, reeve_transaction_version, reeve_reports, "
+                + "reeve_report_current, reeve_organisation, reeve_rollup, reeve_reconciliation, reeve_reconciliation_pending");
+        organisationRegistry.reload();
+        dataVersionService.newEpoch();
+
+        long start = System.currentTimeMillis();
+        long entries = 0;
+        long parsed = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            // Keep a bounded number of pages in flight and write them in the order they were read
+            Deque<Future<List<RawMetadata>>> inFlight = new ArrayDeque<>();
+            long lastId = 0;
+            boolean more = true;
+            while (more || !inFlight.isEmpty()) {
+                while (more && inFlight.size() < threads * 2) {
+                    List<MetadataJournalEntity> page = metadataJournalRepository.findAfter(lastId, pageSize);
+                    more = page.size() == pageSize;
+                    if (page.isEmpty()) {
+                        break;
+                    }
+                    lastId = page.getLast().getId();
+                    entries += page.size();
+                    inFlight.add(executor.submit(() -> parse(page)));
+                }
+                if (inFlight.isEmpty()) {
+                    break;
+                }
+                List<RawMetadata> metadata = inFlight.poll().get();
+                parsed += metadata.size();
+                transactionTemplate.executeWithoutResult(status -> metadataWriter.write(metadata));
+            }
+        }
+        log.info("Reprocessed {} journal entries, {} payloads stored, in {} ms", entries, parsed,
+                System.currentTimeMillis() - start);
+        System.exit(SpringApplication.exit(applicationContext, () -> 0));
+    }
+
+    private List<RawMetadata> parse(List<MetadataJournalEntity> page) {
+        return page.stream()
+                .map(entry -> metadataParser.parse(entry.getTxHash(), entry.getSlot(),
+                        entry.getBlockNumber(), Gzip.decompress(entry.getBody())))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
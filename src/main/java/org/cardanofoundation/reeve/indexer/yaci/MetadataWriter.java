@@ -0,0 +1,159 @@
+package org.cardanofoundation.reeve.indexer.yaci;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.cardanofoundation.reeve.indexer.model.domain.RawMetadata;
+import org.cardanofoundation.reeve.indexer.model.domain.ReeveTransactionType;
+import org.cardanofoundation.reeve.indexer.model.domain.Transaction;
+import org.cardanofoundation.reeve.indexer.model.entity.ReportEntity;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionEntity;
+import org.cardanofoundation.reeve.indexer.model.repository.CurrentReportRepository;
+import org.cardanofoundation.reeve.indexer.model.repository.ReconciliationRepository;
+import org.cardanofoundation.reeve.indexer.model.repository.ReportRepository;
+import org.cardanofoundation.reeve.indexer.model.repository.RollupRepository;
+import org.cardanofoundation.reeve.indexer.model.repository.TransactionBulkRepository;
+import org.cardanofoundation.reeve.indexer.service.DataVersionService;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Maps parsed payloads to entities and stores them. Runs inside the transaction of the caller.
+ */
+@Component
+public class MetadataWriter {
+
+    private final TransactionBulkRepository transactionBulkRepository;
+    private final ReportRepository reportRepository;
+    private final CurrentReportRepository currentReportRepository;
+    private final RollupRepository rollupRepository;
+    private final ReconciliationRepository reconciliationRepository;
+    private final OrganisationRegistry organisationRegistry;
+    private final DataVersionService dataVersionService;
+    private final Timer organisationsTimer;
+    private final Timer transactionsTimer;
+    private final Timer reportsTimer;
+    private final Counter organisationRows;
+    private final Counter transactionRows;
+    private final Counter itemRows;
+    private final Counter reportRows;
+
+    public MetadataWriter(TransactionBulkRepository transactionBulkRepository,
+            ReportRepository reportRepository, CurrentReportRepository currentReportRepository,
+            RollupRepository rollupRepository, ReconciliationRepository reconciliationRepository,
+            OrganisationRegistry organisationRegistry, DataVersionService dataVersionService,
+            MeterRegistry meterRegistry) {
+        this.transactionBulkRepository = transactionBulkRepository;
+        this.reportRepository = reportRepository;
+        this.currentReportRepository = currentReportRepository;
+        this.rollupRepository = rollupRepository;
+        this.reconciliationRepository = reconciliationRepository;
+        this.organisationRegistry = organisationRegistry;
+        this.dataVersionService = dataVersionService;
+        this.organisationsTimer = persistTimer("organisations", meterRegistry);
+        this.transactionsTimer = persistTimer("transactions", meterRegistry);
+        this.reportsTimer = persistTimer("reports", meterRegistry);
+        this.organisationRows = rowCounter("reeve_organisation", meterRegistry);
+        this.transactionRows = rowCounter("reeve_transactions", meterRegistry);
+        this.itemRows = rowCounter("reeve_transaction_item", meterRegistry);
+        this.reportRows = rowCounter("reeve_reports", meterRegistry);
+    }
+
+    public void write(List<RawMetadata> list) {
+        if (list.isEmpty()) {
+            return;
+        }
+        // Only organisations that were not stored before cause a write
+        int organisations = organisationsTimer.record(() -> organisationRegistry.registerAll(list));
+        organisationRows.increment(organisations);
+
+        // Transactions of all payloads are written together at the end
+        List<TransactionEntity> transactionEntities = new ArrayList<>();
+        List<ReportEntity> reportEntities = new ArrayList<>();
+        list.forEach(rawMetadata -> {
+            if (rawMetadata.getType() == ReeveTransactionType.INDIVIDUAL_TRANSACTIONS) {
+                ((List<Transaction>) rawMetadata.getData()).forEach(transaction -> {
+                    TransactionEntity entity = transaction.toEntity();
+                    entity.setOrganisationId(rawMetadata.getOrg().getId());
+                    entity.setTxHash(rawMetadata.getTxHash());
+                    entity.setSlot(rawMetadata.getSlot());
+                    entity.setBlockNumber(rawMetadata.getBlockNumber());
+                    entity.getItems().forEach(item -> {
+                        item.setSlot(rawMetadata.getSlot());
+                        item.setBlockNumber(rawMetadata.getBlockNumber());
+                    });
+                    transactionEntities.add(entity);
+                });
+            }
+            if (rawMetadata.getType() == ReeveTransactionType.REPORT) {
+                ReportEntity reportEntity = ReportEntity.builder()
+                        .organisationId(rawMetadata.getOrg().getId())
+                        .txHash(rawMetadata.getTxHash()).interval(rawMetadata.getInterval())
+                        .year(rawMetadata.getYear())
+                        .period(rawMetadata.getPeriod())
+                        .subType(rawMetadata.getSubType())
+                        .ver(rawMetadata.getVer())
+                        .slot(rawMetadata.getSlot())
+                        .blockNumber(rawMetadata.getBlockNumber())
+                        .reportKey(ReportEntity.reportKey(rawMetadata.getOrg().getId(),
+                                rawMetadata.getSubType(), rawMetadata.getInterval(),
+                                rawMetadata.getYear(), rawMetadata.getPeriod()))
+                        .fields((String) rawMetadata.getData()).build();
+                reportEntities.add(reportEntity);
+            }
+        });
+        reportsTimer.record(() -> {
+            reportRepository.saveAll(reportEntities);
+            currentReportRepository.saveAll(reportEntities);
+            // The periods of the reports are reconciled against whichever version is current now
+            reconciliationRepository.queueReports(
+                    reportEntities.stream().map(ReportEntity::getReportKey).collect(Collectors.toSet()));
+        });
+        reportRows.increment(reportEntities.size());
+        // The rollups drop what the transactions contributed so far and take what they contribute now
+        Set<String> transactionIds = new TreeSet<>();
+        transactionEntities.forEach(entity -> transactionIds.add(entity.getId()));
+        transactionsTimer.record(() -> {
+            rollupRepository.remove(transactionIds);
+            transactionBulkRepository.saveAll(transactionEntities);
+            rollupRepository.add(transactionIds);
+        });
+        transactionRows.increment(transactionEntities.size());
+        itemRows.increment(transactionEntities.stream().mapToInt(entity -> entity.getItems().size()).sum());
+
+        // Cached responses of these organisations are outdated once the transaction commits
+        SortedMap<String, Long> changed = new TreeMap<>();
+        list.forEach(rawMetadata -> changed.merge(rawMetadata.getOrg().getId(), rawMetadata.getSlot(), Math::max));
+        dataVersionService.changed(changed);
+    }
+
+    /**
+     * Number of rows a payload turns into, used to size group commits.
+     */
+    public static int rowCount(RawMetadata rawMetadata) {
+        if (rawMetadata.getType() == ReeveTransactionType.INDIVIDUAL_TRANSACTIONS
+                && rawMetadata.getData() instanceof List<?> transactions) {
+            int rows = 0;
+            for (Object transaction : transactions) {
+                List<?> items = transaction instanceof Transaction t ? t.getItems() : null;
+                rows += 1 + (items == null ? 0 : items.size());
+            }
+            return rows;
+        }
+        return 1;
+    }
+
+    static Timer persistTimer(String stage, MeterRegistry meterRegistry) {
+        return Timer.builder("reeve.ingest.persist").tag("stage", stage).register(meterRegistry);
+    }
+
+    static Counter rowCounter(String table, MeterRegistry meterRegistry) {
+        return Counter.builder("reeve.ingest.rows").tag("table", table).register(meterRegistry);
+    }
+}
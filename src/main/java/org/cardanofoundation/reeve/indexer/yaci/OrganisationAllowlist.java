@@ -0,0 +1,87 @@
+package org.cardanofoundation.reeve.indexer.yaci;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Decides from the raw metadata body whether a payload belongs to one of the organisations
+ * listed in {@code reeve.organisations}. Only the top level {@code org.id} is looked at, all
+ * other values are skipped token by token without being mapped. An empty list accepts every
+ * publisher.
+ */
+@Component
+@Slf4j
+public class OrganisationAllowlist {
+
+    private final Set<String> organisationIds;
+    private final JsonFactory jsonFactory;
+    private final Counter accepted;
+    private final Counter rejected;
+
+    public OrganisationAllowlist(@Value("${reeve.organisations:}") Set<String> organisationIds,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.organisationIds = Set.copyOf(organisationIds);
+        this.jsonFactory = objectMapper.getFactory();
+        this.accepted = Counter.builder("reeve.allowlist.payloads").tag("result", "accepted")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("reeve.allowlist.payloads").tag("result", "rejected")
+                .register(meterRegistry);
+        if (!this.organisationIds.isEmpty()) {
+            log.info("Following organisations: {}", this.organisationIds);
+        }
+    }
+
+    public boolean accepts(String body) {
+        if (organisationIds.isEmpty()) {
+            accepted.increment();
+            return true;
+        }
+        String organisationId = readOrganisationId(body);
+        if (organisationId != null && organisationIds.contains(organisationId)) {
+            accepted.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Returns the top level {@code org.id} of the payload, or null if it has none or is not
+     * valid JSON.
+     */
+    String readOrganisationId(String body) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken valueToken = parser.nextToken();
+                if ("org".equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String orgFieldName = parser.currentName();
+                        parser.nextToken();
+                        if ("id".equals(orgFieldName)) {
+                            return parser.getValueAsString();
+                        }
+                        parser.skipChildren();
+                    }
+                    return null;
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            log.debug("Can't read organisation id from metadata: {}", e.getMessage());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,121 @@
+package org.cardanofoundation.reeve.indexer.yaci;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.reeve.indexer.model.domain.Organisation;
+import org.cardanofoundation.reeve.indexer.model.domain.RawMetadata;
+import org.cardanofoundation.reeve.indexer.model.entity.OrganisationEntity;
+import org.cardanofoundation.reeve.indexer.model.repository.OrganisationBulkRepository;
+import org.cardanofoundation.reeve.indexer.model.repository.OrganisationRepository;
+import org.cardanofoundation.reeve.indexer.service.OrganisationService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the ids of organisations that are already stored, so the ingest path only writes
+ * organisations it has not seen before.
+ */
+@Component
+@Slf4j
+public class OrganisationRegistry {
+
+    private final Set<String> knownOrganisationIds = ConcurrentHashMap.newKeySet();
+    private final OrganisationRepository organisationRepository;
+    private final OrganisationBulkRepository organisationBulkRepository;
+    private final OrganisationService organisationService;
+    private final Counter hits;
+    private final Counter misses;
+
+    public OrganisationRegistry(OrganisationRepository organisationRepository,
+            OrganisationBulkRepository organisationBulkRepository, OrganisationService organisationService,
+            MeterRegistry meterRegistry) {
+        this.organisationRepository = organisationRepository;
+        this.organisationBulkRepository = organisationBulkRepository;
+        this.organisationService = organisationService;
+        this.hits = Counter.builder("reeve.organisation.registry.lookups").tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("reeve.organisation.registry.lookups").tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("reeve.organisation.registry.hit.ratio", this, OrganisationRegistry::hitRatio)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reads the stored ids again after rows were removed. The read cache of the API is cleared once
+     * the surrounding transaction has committed, a request in between would cache the removed
+     * rows again.
+     */
+    @PostConstruct
+    public void reload() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    organisationService.evictAll();
+                }
+            });
+        } else {
+            organisationService.evictAll();
+        }
+        knownOrganisationIds.clear();
+        knownOrganisationIds.addAll(organisationRepository.findAllIds());
+        log.info("Loaded {} known organisations", knownOrganisationIds.size());
+    }
+
+    /**
+     * Stores the organisations of the payloads that are not known yet, with the slot of the first
+     * payload that mentions them. Ids are only remembered once the surrounding transaction has
+     * committed. Returns the number of organisations that were inserted.
+     */
+    public int registerAll(Collection<RawMetadata> metadata) {
+        Map<String, OrganisationEntity> unknown = new TreeMap<>();
+        for (RawMetadata rawMetadata : metadata) {
+            Organisation organisation = rawMetadata.getOrg();
+            if (knownOrganisationIds.contains(organisation.getId())) {
+                hits.increment();
+            } else {
+                misses.increment();
+                unknown.putIfAbsent(organisation.getId(), OrganisationEntity.builder()
+                        .id(organisation.getId())
+                        .name(organisation.getName())
+                        .currencyId(organisation.getCurrencyId())
+                        .countryCode(organisation.getCountryCode())
+                        .taxIdNumber(organisation.getTaxIdNumber())
+                        .slot(rawMetadata.getSlot())
+                        .blockNumber(rawMetadata.getBlockNumber())
+                        .build());
+            }
+        }
+        if (unknown.isEmpty()) {
+            return 0;
+        }
+        int inserted = organisationBulkRepository.saveAllIfNotExists(unknown.values());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    knownOrganisationIds.addAll(unknown.keySet());
+                    organisationService.evict(unknown.keySet());
+                }
+            });
+        } else {
+            knownOrganisationIds.addAll(unknown.keySet());
+            organisationService.evict(unknown.keySet());
+        }
+        return inserted;
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+}
@@ -0,0 +1,41 @@
+package org.cardanofoundation.reeve.indexer.yaci;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cardanofoundation.reeve.indexer.service.RollupService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes the rollups from the stored items again and exits, run with the
+ * {@code rollup-rebuild} profile. Exits with 1 if the rollups still differ from the items
+ * afterwards.
+ */
+@Component
+@ConditionalOnProperty(name = "reeve.rollup.rebuild", havingValue = "true")
+@Slf4j
+public class RollupRebuilder implements ApplicationRunner {
+
+    private final RollupService rollupService;
+    private final ConfigurableApplicationContext applicationContext;
+
+    public RollupRebuilder(RollupService rollupService, ConfigurableApplicationContext applicationContext) {
+        this.rollupService = rollupService;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.currentTimeMillis();
+        RollupService.Rebuild rebuild = rollupService.rebuild();
+        log.info("Rollup rebuild finished in {} ms", System.currentTimeMillis() - start);
+        if (rebuild.mismatches() > 0) {
+            log.error("{} rollups do not match the items after the rebuild", rebuild.mismatches());
+        }
+        int exitCode = rebuild.mismatches() == 0 ? 0 : 1;
+        System.exit(SpringApplication.exit(applicationContext, () -> exitCode));
+    }
+}
@@ -0,0 +1,187 @@
+package org.cardanofoundation.reeve.indexer;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Synthetic rows for the tests and benchmarks that run against the PostgreSQL database from
+ * application.yml. Every class owns a range of slots far above any real slot, starting at its
+ * base slot, so its rows neither collide with indexed data nor get removed by a rollback of
+ * it, and cleanUp finds them by slot. Rows kept per organisation instead, like the rollups,
+ * are deleted for the organisations the class names.
+ * <p>
+ * Rows are inserted with one statement from {@code generate_series}, {@code i} numbers the
+ * row, or the transaction of an item, and {@code j} the item. Every column is a SQL
+ * expression, the defaults can be replaced with {@link Insert#set}.
+ */
+public class TestRows {
+
+    // Deleted in this order, current reports and items reference other rows
+    private static final List<String> SLOT_TABLES = List.of(
+            "reeve_report_current",
+            "reeve_transaction_item",
+            "reeve_transactions",
+            "reeve_transaction_version",
+            "reeve_reports",
+            "reeve_organisation",
+            "reeve_metadata_journal");
+
+    private static final List<String> ORGANISATION_TABLES = List.of(
+            "reeve_rollup",
+            "reeve_reconciliation",
+            "reeve_reconciliation_pending",
+            "reeve_data_version");
+
+    private final long baseSlot;
+    private final List<String> organisationIds;
+
+    public TestRows(long baseSlot, String... organisationIds) {
+        this.baseSlot = baseSlot;
+        this.organisationIds = Arrays.asList(organisationIds);
+    }
+
+    public long baseSlot() {
+        return baseSlot;
+    }
+
+    public long slot(long offset) {
+        return baseSlot + offset;
+    }
+
+    /**
+     * Deletes the rows from the base slot up and the rows of the organisations.
+     */
+    public void cleanUp(JdbcTemplate jdbcTemplate) {
+        SLOT_TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table + " WHERE slot >= ?", baseSlot));
+        if (!organisationIds.isEmpty()) {
+            String[] ids = organisationIds.toArray(String[]::new);
+            ORGANISATION_TABLES.forEach(table -> jdbcTemplate.update(
+                    "DELETE FROM " + table + " WHERE organisation_id = ANY(?)", (Object) ids));
+        }
+    }
+
+    public void analyze(JdbcTemplate jdbcTemplate, String... tables) {
+        for (String table : tables) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+    }
+
+    /**
+     * Rows of any table, each at the slot after the previous one.
+     */
+    public Insert rows(String table, int count) {
+        return new Insert(table, count, 0)
+                .set("slot", baseSlot + " + i")
+                .set("block_number", baseSlot + " + i");
+    }
+
+    /**
+     * Journals of the first organisation with the ids {@code <prefix>-<i>} in November 2024.
+     */
+    public Insert transactions(String prefix, int count) {
+        Insert transactions = rows("reeve_transactions", count)
+                .set("id", literal(prefix + "-") + " || i")
+                .set("tx_hash", literal(prefix + "-tx-") + " || i")
+                .set("number", "'JOURNAL' || i")
+                .set("accounting_period", "'2024-11'")
+                .set("batch_id", "'batch'")
+                .set("type", "'Journal'")
+                .set("date", "DATE '2024-01-01'");
+        return organisationIds.isEmpty() ? transactions
+                : transactions.set("organisation_id", literal(organisationIds.getFirst()));
+    }
+
+    /**
+     * Items of the transactions, numbered from 1, each of 1 CHF.
+     */
+    public Insert items(String prefix, int transactions, int perTransaction) {
+        return new Insert("reeve_transaction_item", transactions, perTransaction)
+                .set("id", literal(prefix + "-") + " || i || '-' || j")
+                .amount("'1'")
+                .set("fx_rate", "'1'")
+                .set("fx_rate_value", "1")
+                .set("currency", "'CHF'")
+                .set("transaction_id", literal(prefix + "-") + " || i")
+                .set("slot", baseSlot + " + i")
+                .set("block_number", baseSlot + " + i");
+    }
+
+    /**
+     * Monthly reports of the first organisation for 2024, numbered down from {@code firstId}.
+     */
+    public Insert reports(long firstId, String reportType, int count) {
+        Insert reports = rows("reeve_reports", count)
+                .set("id", firstId + " - i")
+                .set("tx_hash", literal(reportType + "-tx-") + " || i")
+                .set("interval", "'MONTH'")
+                .set("year", "2024")
+                .set("period", "i")
+                .set("sub_type", literal(reportType))
+                .set("ver", "1")
+                .set("fields", "'{\"total\": 1}'::jsonb")
+                .set("report_key", literal(reportType + "|") + " || i");
+        return organisationIds.isEmpty() ? reports
+                : reports.set("organisation_id", literal(organisationIds.getFirst()));
+    }
+
+    /**
+     * Points every report from the base slot up to itself as the current version.
+     */
+    public void insertCurrentReports(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("""
+                INSERT INTO reeve_report_current (report_key, report_id, ver, organisation_id, sub_type, interval,
+                    year, period, slot)
+                SELECT report_key, id, ver, organisation_id, sub_type, interval, year, period, slot
+                FROM reeve_reports WHERE slot >= ?
+                """, baseSlot);
+    }
+
+    public static String literal(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    public static final class Insert {
+
+        private final String table;
+        private final int count;
+        private final int perRow;
+        private final Map<String, String> columns = new LinkedHashMap<>();
+        private int first;
+
+        private Insert(String table, int count, int perRow) {
+            this.table = table;
+            this.count = count;
+            this.perRow = perRow;
+        }
+
+        public Insert set(String column, String expression) {
+            columns.put(column, expression);
+            return this;
+        }
+
+        /**
+         * The amount as text and as the number it is searched by.
+         */
+        public Insert amount(String expression) {
+            return set("amount", expression).set("amount_value", "(" + expression + ")::numeric");
+        }
+
+        /**
+         * Numbers the rows from {@code first} instead of 0.
+         */
+        public Insert from(int first) {
+            this.first = first;
+            return this;
+        }
+
+        public int insert(JdbcTemplate jdbcTemplate) {
+            String series = "generate_series(%d, %d) i".formatted(first, first + count - 1)
+                    + (perRow > 0 ? ", generate_series(1, %d) j".formatted(perRow) : "");
+            return jdbcTemplate.update("INSERT INTO %s (%s) SELECT %s FROM %s".formatted(table,
+                    String.join(", ", columns.keySet()), String.join(", ", columns.values()), series));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.cardanofoundation.reeve.indexer.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import org.cardanofoundation.reeve.indexer.TestRows;
+import org.cardanofoundation.reeve.indexer.service.DataVersionService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Repeated GET requests are answered with 304 without a statement until the data version of the
+ * organisation moves.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConditionalRequestTest {
+
+    private static final String ORGANISATION_ID = "etag-test";
+    private static final TestRows ROWS = new TestRows(9_000_000_000_000_000L, ORGANISATION_ID);
+    private static final String TRANSACTIONS = "/api/v1/transactions?organisationId=" + ORGANISATION_ID + "&size=10";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private DataVersionService dataVersionService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    void insertRows() {
+        cleanUp();
+        ROWS.rows("reeve_organisation", 1)
+                .set("id", TestRows.literal(ORGANISATION_ID))
+                .set("name", "'ETag test'")
+                .set("currency_id", "'ISO_4217:CHF'")
+                .insert(jdbcTemplate);
+        ROWS.transactions("etag-test", 1).insert(jdbcTemplate);
+        ROWS.items("etag-test", 1, 1).insert(jdbcTemplate);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        ROWS.cleanUp(jdbcTemplate);
+        dataVersionService.reload();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {TRANSACTIONS, "/api/v1/reports?organisationId=" + ORGANISATION_ID,
+            "/api/v1/organisations"})
+    void repeatedRequestIsAnsweredWithoutAStatement(String uri) throws Exception {
+        String etag = etag(uri);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void otherParametersGetAnotherEtag() throws Exception {
+        assertNotEquals(etag(TRANSACTIONS), etag(TRANSACTIONS + "&page=1"));
+    }
+
+    @Test
+    void ingestAndRollbackChangeTheEtag() throws Exception {
+        String before = etag(TRANSACTIONS);
+
+        transactionTemplate.executeWithoutResult(status -> dataVersionService.changed(
+                new TreeMap<>(Map.of(ORGANISATION_ID, ROWS.slot(1)))));
+        mockMvc.perform(get(TRANSACTIONS).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk());
+        String ingested = etag(TRANSACTIONS);
+
+        transactionTemplate.executeWithoutResult(status -> dataVersionService.rolledBack(ROWS.baseSlot()));
+        String rolledBack = etag(TRANSACTIONS);
+
+        assertNotEquals(before, ingested);
+        assertNotEquals(before, rolledBack);
+        assertNotEquals(ingested, rolledBack);
+    }
+
+    @Test
+    void newEpochChangesTheEtag() throws Exception {
+        String before = etag(TRANSACTIONS);
+
+        dataVersionService.newEpoch();
+        dataVersionService.reload();
+
+        mockMvc.perform(get(TRANSACTIONS).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk());
+    }
+
+    private String etag(String uri) throws Exception {
+        String etag = mockMvc.perform(get(uri)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+}
@@ -0,0 +1,75 @@
+package org.cardanofoundation.reeve.indexer.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.cardanofoundation.reeve.indexer.TestRows;
+import org.cardanofoundation.reeve.indexer.service.OrganisationService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * The export runs with the async timeout of reeve.export.timeout, other requests keep the default.
+ */
+@SpringBootTest(properties = "reeve.export.timeout=3h")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionExportControllerTest {
+
+    private static final String ORGANISATION_ID = "export-controller-test";
+    private static final TestRows ROWS = new TestRows(7_100_000_000_000_000L, ORGANISATION_ID);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private OrganisationService organisationService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void insertRows() {
+        cleanUp();
+        ROWS.rows("reeve_organisation", 1)
+                .set("id", TestRows.literal(ORGANISATION_ID))
+                .set("name", "'Export controller test'")
+                .set("currency_id", "'ISO_4217:CHF'")
+                .insert(jdbcTemplate);
+        ROWS.transactions("export-controller-test", 2).insert(jdbcTemplate);
+        ROWS.items("export-controller-test", 2, 3).insert(jdbcTemplate);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        ROWS.cleanUp(jdbcTemplate);
+        organisationService.evictAll();
+    }
+
+    @Test
+    void exportHasItsOwnTimeout() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/transactions/export")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"organisationId\": \"" + ORGANISATION_ID + "\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(3 * 60 * 60 * 1000L, result.getRequest().getAsyncContext().getTimeout());
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(6, body.lines().count());
+    }
+}
@@ -0,0 +1,175 @@
+package org.cardanofoundation.reeve.indexer.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.cardanofoundation.reeve.indexer.TestRows;
+import org.cardanofoundation.reeve.indexer.model.domain.Event;
+import org.cardanofoundation.reeve.indexer.model.domain.RollupDimension;
+import org.cardanofoundation.reeve.indexer.model.domain.Transaction;
+import org.cardanofoundation.reeve.indexer.model.domain.TransactionItem;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionEntity;
+import org.cardanofoundation.reeve.indexer.model.view.RollupView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Replays a synthetic fork on top of a larger canonical chain and rolls it back, also a fork
+ * that publishes a canonical transaction again.
+ */
+@SpringBootTest
+class RollbackRepositoryTest {
+
+    private static final String ORGANISATION_ID = "rollback-test";
+    private static final TestRows ROWS = new TestRows(1_000_000_000_000_000L, ORGANISATION_ID);
+    private static final int CANONICAL_TRANSACTIONS = 20_000;
+    private static final int FORK_TRANSACTIONS = 1_000;
+    private static final int ITEMS_PER_TRANSACTION = 3;
+    private static final long FORK_SLOT = ROWS.slot(CANONICAL_TRANSACTIONS);
+
+    private static final List<String> TABLES = List.of(
+            "reeve_transaction_item",
+            "reeve_transactions",
+            "reeve_reports",
+            "reeve_organisation",
+            "reeve_metadata_journal");
+
+    @Autowired
+    private RollbackRepository rollbackRepository;
+    @Autowired
+    private TransactionBulkRepository transactionBulkRepository;
+    @Autowired
+    private RollupRepository rollupRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void replayChain() {
+        cleanUp();
+        // Canonical rows up to FORK_SLOT, fork rows in the slots after it
+        int total = CANONICAL_TRANSACTIONS + FORK_TRANSACTIONS;
+        ROWS.rows("reeve_organisation", total)
+                .set("id", "'rollback-test-' || i")
+                .set("name", "'Rollback test'")
+                .insert(jdbcTemplate);
+        ROWS.transactions("rollback-test", total).insert(jdbcTemplate);
+        ROWS.items("rollback-test", total, ITEMS_PER_TRANSACTION).amount("'100'").insert(jdbcTemplate);
+        ROWS.rows("reeve_reports", total)
+                .set("id", "-1 - i")
+                .set("tx_hash", "'rollback-test-tx-' || i")
+                .set("organisation_id", "'rollback-test'")
+                .insert(jdbcTemplate);
+        ROWS.rows("reeve_metadata_journal", total)
+                .set("tx_hash", "'rollback-test-' || i")
+                .set("body", "'\\x00'::bytea")
+                .insert(jdbcTemplate);
+        ROWS.analyze(jdbcTemplate, TABLES.toArray(String[]::new));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        // The rows are inserted around the rollups, the rollback takes them out of the rollups anyway
+        ROWS.cleanUp(jdbcTemplate);
+    }
+
+    @Test
+    void deletesOnlyTheRowsAboveTheRollbackSlot() {
+        Map<String, Long> before = countAboveBase();
+
+        Integer deleted = transactionTemplate.execute(
+                status -> rollbackRepository.deleteBySlotGreaterThan(FORK_SLOT - 1));
+
+        // The fork starts at FORK_SLOT, one row per table and slot plus the items
+        assertEquals(FORK_TRANSACTIONS * (TABLES.size() + ITEMS_PER_TRANSACTION - 1), deleted);
+        Map<String, Long> after = countAboveBase();
+        TABLES.forEach(table -> assertEquals(
+                before.get(table) - (table.equals("reeve_transaction_item")
+                        ? (long) FORK_TRANSACTIONS * ITEMS_PER_TRANSACTION : FORK_TRANSACTIONS),
+                after.get(table), table));
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM reeve_transactions WHERE slot >= ?", Long.class, FORK_SLOT));
+    }
+
+    @Test
+    void transactionPublishedAgainByTheForkGetsItsEarlierVersionBack() {
+        // A canonical transaction, counted in the rollups
+        jdbcTemplate.update("UPDATE reeve_transaction_item SET event_code = 'E5' WHERE transaction_id = ?",
+                "rollback-test-5");
+        transactionTemplate.executeWithoutResult(status -> rollupRepository.add(List.of("rollback-test-5")));
+        // The fork publishes it again with another item
+        TransactionEntity republished = Transaction.builder()
+                .id("rollback-test-5")
+                .number("JOURNAL5")
+                .batchId("batch")
+                .accountingPeriod("2024-11")
+                .type("Journal")
+                .date(LocalDate.of(2024, 1, 1))
+                .items(List.of(TransactionItem.builder()
+                        .id("rollback-test-5-fork")
+                        .amount("7")
+                        .fxRate("1")
+                        .event(Event.builder().code("FORK").build())
+                        .build()))
+                .build()
+                .toEntity();
+        republished.setOrganisationId(ORGANISATION_ID);
+        republished.setTxHash("rollback-test-fork-tx");
+        republished.setSlot(FORK_SLOT);
+        republished.setBlockNumber(FORK_SLOT);
+        republished.getItems().forEach(item -> {
+            item.setSlot(FORK_SLOT);
+            item.setBlockNumber(FORK_SLOT);
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            rollupRepository.remove(List.of("rollback-test-5"));
+            transactionBulkRepository.saveAll(List.of(republished));
+            rollupRepository.add(List.of("rollback-test-5"));
+        });
+
+        transactionTemplate.execute(status -> rollbackRepository.deleteBySlotGreaterThan(FORK_SLOT - 1));
+
+        assertEquals("rollback-test-tx-5 " + ROWS.slot(5), jdbcTemplate.queryForObject(
+                "SELECT tx_hash || ' ' || slot FROM reeve_transactions WHERE id = ?", String.class, "rollback-test-5"));
+        assertEquals(List.of("rollback-test-5-1 100 E5", "rollback-test-5-2 100 E5", "rollback-test-5-3 100 E5"),
+                jdbcTemplate.queryForList("SELECT id || ' ' || amount_value || ' ' || event_code "
+                        + "FROM reeve_transaction_item WHERE transaction_id = ? ORDER BY id", String.class,
+                        "rollback-test-5"));
+        List<RollupView> rollups = rollupRepository.find(ORGANISATION_ID, RollupDimension.EVENT, null, null,
+                List.of("E5", "FORK"));
+        assertEquals(List.of("E5 300 3"), rollups.stream()
+                .map(rollup -> rollup.getValue() + " " + rollup.getAmount().toPlainString() + " " + rollup.getItems())
+                .toList());
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM reeve_transaction_version WHERE transaction_id = ?", Long.class,
+                "rollback-test-5"));
+    }
+
+    @Test
+    void rollbackReadsOnlyTheForkThroughTheSlotIndex() {
+        // A sequential scan would make every rollback as expensive as the whole table
+        for (String table : TABLES) {
+            String plan = String.join("\n", jdbcTemplate.queryForList(
+                    "EXPLAIN DELETE FROM " + table + " WHERE slot > " + (FORK_SLOT - 1), String.class));
+            assertTrue(plan.contains("idx_" + table + "_slot"), plan);
+            assertFalse(plan.contains("Seq Scan"), plan);
+        }
+    }
+
+    private Map<String, Long> countAboveBase() {
+        return TABLES.stream().collect(Collectors.toMap(table -> table,
+                table -> jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM " + table + " WHERE slot >= ?", Long.class, ROWS.baseSlot())));
+    }
+}
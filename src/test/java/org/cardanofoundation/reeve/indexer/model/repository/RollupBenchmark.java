@@ -0,0 +1,179 @@
+package org.cardanofoundation.reeve.indexer.model.repository;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+import org.cardanofoundation.reeve.indexer.TestRows;
+import org.cardanofoundation.reeve.indexer.model.domain.RollupDimension;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionEntity;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionItemEntity;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares the totals per event code of an organisation read from the rollups with summing its
+ * items, at a tenth of the items and at all of them, and measures what maintaining the rollups
+ * adds to writing a batch. Run with {@code ./gradlew benchmark}.
+ */
+@SpringBootTest
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RollupBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupBenchmark.class);
+
+    private static final String ORGANISATION_ID = "rollup-benchmark";
+    private static final TestRows ROWS = new TestRows(2_500_000_000_000_000L, ORGANISATION_ID);
+    private static final int TRANSACTIONS = 250_000;
+    private static final int ITEMS_PER_TRANSACTION = 4;
+    private static final int BATCH_TRANSACTIONS = 1_250;
+    private static final int WARMUP = 5;
+    private static final int ROUNDS = 15;
+
+    private static final String SUM_ITEMS = """
+            SELECT t.accounting_period, i.event_code, sum(i.amount_value), count(*)
+            FROM reeve_transaction_item i JOIN reeve_transactions t ON t.id = i.transaction_id
+            WHERE t.organisation_id = ?
+            GROUP BY 1, 2
+            """;
+
+    @Autowired
+    private RollupRepository rollupRepository;
+    @Autowired
+    private TransactionBulkRepository transactionBulkRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    @AfterAll
+    void cleanUp() {
+        ROWS.cleanUp(jdbcTemplate);
+    }
+
+    @Test
+    void rollupsDoNotGrowWithTheItems() {
+        insert(0, TRANSACTIONS / 10);
+        measureQueries();
+        insert(TRANSACTIONS / 10, TRANSACTIONS);
+        measureQueries();
+        measureWrites();
+    }
+
+    // The rows go in directly, the rollups of the organisation are computed afterwards
+    private void insert(int from, int to) {
+        ROWS.transactions("rollup-benchmark", to - from)
+                .from(from)
+                .set("tx_hash", "md5(i::text)")
+                .set("accounting_period", "'2024-' || lpad((1 + i % 12)::text, 2, '0')")
+                .set("date", "DATE '2024-01-01' + i % 365")
+                .insert(jdbcTemplate);
+        ROWS.items("rollup-benchmark", to - from, ITEMS_PER_TRANSACTION)
+                .from(from)
+                .amount("'1500.00'")
+                .set("event_code", "'E' || (i + j) % 40")
+                .set("costcenter_cust_code", "'C' || i % 20")
+                .set("project_cust_code", "'P' || i % 10")
+                .insert(jdbcTemplate);
+        ROWS.analyze(jdbcTemplate, "reeve_transactions", "reeve_transaction_item");
+        jdbcTemplate.update("DELETE FROM reeve_rollup WHERE organisation_id = ?", ORGANISATION_ID);
+        List<String> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM reeve_transactions WHERE organisation_id = ?", String.class, ORGANISATION_ID);
+        transactionTemplate.executeWithoutResult(status -> rollupRepository.add(ids));
+    }
+
+    private void measureQueries() {
+        long items = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM reeve_transaction_item WHERE slot >= ?", Long.class, ROWS.baseSlot());
+        double rollups = medianMillis(() -> rollupRepository.find(ORGANISATION_ID, RollupDimension.EVENT, null,
+                null, null));
+        double sums = medianMillis(() -> jdbcTemplate.queryForList(SUM_ITEMS, ORGANISATION_ID));
+        log.info("{} items: rollups {} ms, summing the items {} ms", items, "%.2f".formatted(rollups),
+                "%.1f".formatted(sums));
+    }
+
+    // Batches of new transactions, alternately with and without the rollups
+    private void measureWrites() {
+        double[][] millis = new double[2][ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int withRollups = 0; withRollups < 2; withRollups++) {
+                List<TransactionEntity> batch = batch(TRANSACTIONS + (2 * round + withRollups) * BATCH_TRANSACTIONS);
+                Set<String> ids = new TreeSet<>(batch.stream().map(TransactionEntity::getId).toList());
+                boolean rollups = withRollups == 1;
+                long start = System.nanoTime();
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (rollups) {
+                        rollupRepository.remove(ids);
+                    }
+                    transactionBulkRepository.saveAll(batch);
+                    if (rollups) {
+                        rollupRepository.add(ids);
+                    }
+                });
+                millis[withRollups][round] = (System.nanoTime() - start) / 1e6;
+            }
+        }
+        Arrays.sort(millis[0]);
+        Arrays.sort(millis[1]);
+        log.info("Batch of {} rows: {} ms without rollups, {} ms with them",
+                BATCH_TRANSACTIONS * (ITEMS_PER_TRANSACTION + 1), "%.1f".formatted(millis[0][ROUNDS / 2]),
+                "%.1f".formatted(millis[1][ROUNDS / 2]));
+    }
+
+    private static List<TransactionEntity> batch(int first) {
+        return IntStream.range(first, first + BATCH_TRANSACTIONS).mapToObj(i -> {
+            TransactionEntity transaction = TransactionEntity.builder()
+                    .id("rollup-benchmark-" + i)
+                    .txHash("rollup-benchmark-" + i)
+                    .number("JOURNAL" + i)
+                    .accountingPeriod("2024-12")
+                    .batchId("batch")
+                    .type("Journal")
+                    .date(LocalDate.of(2024, 12, 1))
+                    .organisationId(ORGANISATION_ID)
+                    .slot(ROWS.slot(i))
+                    .blockNumber(ROWS.slot(i))
+                    .build();
+            IntStream.range(0, ITEMS_PER_TRANSACTION).forEach(j -> transaction.addItem(
+                    TransactionItemEntity.builder()
+                            .id("rollup-benchmark-" + i + "-" + j)
+                            .amount("1500.00")
+                            .fxRate("1")
+                            .currency("CHF")
+                            .eventCode("E" + (i + j) % 40)
+                            .costCenterCustCode("C" + i % 20)
+                            .projectCustCode("P" + i % 10)
+                            .slot(ROWS.slot(i))
+                            .blockNumber(ROWS.slot(i))
+                            .build()));
+            return transaction;
+        }).toList();
+    }
+
+    private static double medianMillis(Runnable query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.run();
+        }
+        double[] millis = new double[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            millis[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(millis);
+        return millis[ROUNDS / 2];
+    }
+}
@@ -0,0 +1,206 @@
+package org.cardanofoundation.reeve.indexer.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.cardanofoundation.reeve.indexer.TestRows;
+import org.cardanofoundation.reeve.indexer.model.domain.CostCenter;
+import org.cardanofoundation.reeve.indexer.model.domain.Currency;
+import org.cardanofoundation.reeve.indexer.model.domain.Document;
+import org.cardanofoundation.reeve.indexer.model.domain.Event;
+import org.cardanofoundation.reeve.indexer.model.domain.Organisation;
+import org.cardanofoundation.reeve.indexer.model.domain.Project;
+import org.cardanofoundation.reeve.indexer.model.domain.RawMetadata;
+import org.cardanofoundation.reeve.indexer.model.domain.ReeveTransactionType;
+import org.cardanofoundation.reeve.indexer.model.domain.RollupDimension;
+import org.cardanofoundation.reeve.indexer.model.domain.Transaction;
+import org.cardanofoundation.reeve.indexer.model.domain.TransactionItem;
+import org.cardanofoundation.reeve.indexer.model.view.RollupView;
+import org.cardanofoundation.reeve.indexer.service.DataVersionService;
+import org.cardanofoundation.reeve.indexer.service.RollupService;
+import org.cardanofoundation.reeve.indexer.yaci.MetadataWriter;
+import org.cardanofoundation.reeve.indexer.yaci.OrganisationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes transactions through the ingest path, delivers some of them again with other values and
+ * rolls them back. After every step the rollups have to equal the items summed up here.
+ */
+@SpringBootTest
+class RollupRepositoryTest {
+
+    private static final String ORGANISATION_ID = "rollup-test";
+    private static final TestRows ROWS = new TestRows(9_200_000_000_000_000_000L, ORGANISATION_ID);
+    private static final int TRANSACTIONS = 200;
+    private static final List<String> PERIODS = List.of("2024-01", "2024-02", "2024-03");
+
+    @Autowired
+    private MetadataWriter metadataWriter;
+    @Autowired
+    private RollupRepository rollupRepository;
+    @Autowired
+    private RollbackRepository rollbackRepository;
+    @Autowired
+    private RollupService rollupService;
+    @Autowired
+    private OrganisationRegistry organisationRegistry;
+    @Autowired
+    private DataVersionService dataVersionService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        ROWS.cleanUp(jdbcTemplate);
+        organisationRegistry.reload();
+        dataVersionService.reload();
+    }
+
+    @Test
+    void rollupsFollowIngestRedeliveryAndRollback() {
+        write(ROWS.baseSlot(), transactions(0, TRANSACTIONS, 0));
+        assertRollupsMatchTheItems();
+
+        // Every tenth transaction again with other periods, codes and amounts
+        List<Transaction> redelivered = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS; i += 10) {
+            redelivered.addAll(transactions(i, i + 1, 1));
+        }
+        write(ROWS.slot(1), redelivered);
+        assertRollupsMatchTheItems();
+
+        transactionTemplate.executeWithoutResult(status -> rollbackRepository.deleteBySlotGreaterThan(ROWS.baseSlot()));
+        assertRollupsMatchTheItems();
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM reeve_rollup WHERE organisation_id = ? AND items <= 0", Long.class,
+                ORGANISATION_ID));
+    }
+
+    @Test
+    void findFiltersByDimensionPeriodsAndValues() {
+        write(ROWS.baseSlot(), transactions(0, TRANSACTIONS, 0));
+
+        List<RollupView> rollups = rollupRepository.find(ORGANISATION_ID, RollupDimension.EVENT, "2024-02",
+                "2024-03", Set.of("E1", "E2"));
+
+        assertEquals(4, rollups.size());
+        rollups.forEach(rollup -> {
+            assertEquals(RollupDimension.EVENT, rollup.getDimension());
+            assertTrue(rollup.getAccountingPeriod().compareTo("2024-02") >= 0, rollup.getAccountingPeriod());
+            assertTrue(Set.of("E1", "E2").contains(rollup.getValue()), rollup.getValue());
+        });
+        assertEquals("2024-02", rollups.getFirst().getAccountingPeriod());
+    }
+
+    @Test
+    void rebuildRepairsDriftedRollups() {
+        write(ROWS.baseSlot(), transactions(0, TRANSACTIONS, 0));
+
+        // The rebuild covers the whole table, it is not kept
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE reeve_rollup SET amount = amount + 1 WHERE organisation_id = ?",
+                    ORGANISATION_ID);
+            jdbcTemplate.update("DELETE FROM reeve_rollup WHERE organisation_id = ? AND dimension = 'PROJECT'",
+                    ORGANISATION_ID);
+
+            RollupService.Rebuild rebuild = rollupService.rebuild();
+
+            assertTrue(rebuild.drifted() > 0, "drifted " + rebuild.drifted());
+            assertEquals(0, rebuild.mismatches());
+            assertRollupsMatchTheItems();
+            status.setRollbackOnly();
+        });
+    }
+
+    private void write(long slot, List<Transaction> transactions) {
+        RawMetadata metadata = RawMetadata.builder()
+                .txHash("rollup-test-" + slot)
+                .slot(slot)
+                .blockNumber(slot)
+                .org(Organisation.builder().id(ORGANISATION_ID).name("Rollup test").currencyId("ISO_4217:CHF").build())
+                .type(ReeveTransactionType.INDIVIDUAL_TRANSACTIONS)
+                .data(transactions)
+                .build();
+        transactionTemplate.executeWithoutResult(status -> metadataWriter.write(List.of(metadata)));
+    }
+
+    // Variant 1 moves the transactions to another period and gives their items other values
+    private static List<Transaction> transactions(int from, int to, int variant) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            List<TransactionItem> items = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                int k = i + j + variant * 7;
+                items.add(TransactionItem.builder()
+                        .id("rollup-test-" + i + "-" + j)
+                        // Every 13th amount is no number and only counts as an item
+                        .amount(k % 13 == 0 ? "n/a" : (k * 10) + "." + (k % 100))
+                        .fxRate("1")
+                        .event(Event.builder().code("E" + k % 5).build())
+                        .costCenter(CostCenter.builder().custCode("C" + k % 3).build())
+                        // Some items belong to no project
+                        .project(k % 4 == 0 ? null : Project.builder().custCode("P" + k % 4).build())
+                        .document(Document.builder().number("D" + i)
+                                .currency(Currency.builder().custCode(k % 2 == 0 ? "CHF" : "EUR").build()).build())
+                        .build());
+            }
+            transactions.add(Transaction.builder()
+                    .id("rollup-test-" + i)
+                    .number("JOURNAL" + i)
+                    .batchId("batch")
+                    .accountingPeriod(PERIODS.get((i + variant) % PERIODS.size()))
+                    .type("Journal")
+                    .date(LocalDate.of(2024, 1, 1))
+                    .items(items)
+                    .build());
+        }
+        return transactions;
+    }
+
+    // The stored items summed up here, compared with the rollups
+    private void assertRollupsMatchTheItems() {
+        Map<String, String> expected = new TreeMap<>();
+        Map<String, BigDecimal> amounts = new TreeMap<>();
+        Map<String, Long> counts = new TreeMap<>();
+        jdbcTemplate.query("""
+                SELECT t.accounting_period, i.event_code, i.costcenter_cust_code, i.project_cust_code, i.currency,
+                    i.amount_value
+                FROM reeve_transaction_item i JOIN reeve_transactions t ON t.id = i.transaction_id
+                WHERE t.organisation_id = ?
+                """, resultSet -> {
+            for (RollupDimension dimension : RollupDimension.values()) {
+                String value = resultSet.getString(dimension.ordinal() + 2);
+                String key = resultSet.getString(1) + "|" + dimension + "|" + (value == null ? "" : value);
+                BigDecimal amount = resultSet.getBigDecimal(6);
+                amounts.merge(key, amount == null ? BigDecimal.ZERO : amount, BigDecimal::add);
+                counts.merge(key, 1L, Long::sum);
+            }
+        }, ORGANISATION_ID);
+        amounts.forEach((key, amount) -> expected.put(key,
+                amount.stripTrailingZeros().toPlainString() + " / " + counts.get(key)));
+
+        Map<String, String> actual = new TreeMap<>();
+        rollupRepository.find(ORGANISATION_ID, null, null, null, null).forEach(rollup -> actual.put(
+                rollup.getAccountingPeriod() + "|" + rollup.getDimension() + "|" + rollup.getValue(),
+                rollup.getAmount().stripTrailingZeros().toPlainString() + " / " + rollup.getItems()));
+
+        assertTrue(!expected.isEmpty());
+        assertEquals(expected, actual);
+    }
+}
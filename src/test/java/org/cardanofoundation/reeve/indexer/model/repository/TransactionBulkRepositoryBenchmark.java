@@ -0,0 +1,99 @@
+package org.cardanofoundation.reeve.indexer.model.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionEntity;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionItemEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares the JPA merge path with the bulk upsert. Needs the PostgreSQL database from
+ * application.yml, run with {@code ./gradlew benchmark}.
+ */
+@SpringBootTest
+@Tag("benchmark")
+class TransactionBulkRepositoryBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionBulkRepositoryBenchmark.class);
+
+    private static final String ORGANISATION_ID = "benchmark-" + UUID.randomUUID();
+    private static final int TRANSACTIONS = 2_000;
+    private static final int ITEMS_PER_TRANSACTION = 4;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private TransactionBulkRepository transactionBulkRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM reeve_transaction_item WHERE transaction_id IN "
+                + "(SELECT id FROM reeve_transactions WHERE organisation_id = ?)", ORGANISATION_ID);
+        jdbcTemplate.update("DELETE FROM reeve_transactions WHERE organisation_id = ?", ORGANISATION_ID);
+    }
+
+    @Test
+    void jpaMerge() {
+        measure("jpa merge", rows -> transactionRepository.saveAll(rows));
+    }
+
+    @Test
+    void bulkUpsert() {
+        measure("bulk upsert", rows -> transactionBulkRepository.saveAll(rows));
+    }
+
+    private void measure(String name, Consumer<List<TransactionEntity>> writer) {
+        // Warm up once with a separate data set, then measure the first delivery and a re-delivery
+        transactionTemplate.executeWithoutResult(status -> writer.accept(transactions(200)));
+        List<TransactionEntity> rows = transactions(TRANSACTIONS);
+        for (String round : List.of("insert", "re-delivery")) {
+            long start = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> writer.accept(rows));
+            double seconds = (System.nanoTime() - start) / 1e9;
+            int total = TRANSACTIONS * (ITEMS_PER_TRANSACTION + 1);
+            log.info("{} {}: {} rows in {} s, {} rows/s", name, round, total,
+                    "%.3f".formatted(seconds), "%.0f".formatted(total / seconds));
+        }
+    }
+
+    private static List<TransactionEntity> transactions(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            TransactionEntity transaction = TransactionEntity.builder()
+                    .id(UUID.randomUUID().toString())
+                    .txHash(UUID.randomUUID().toString())
+                    .number("JOURNAL" + i)
+                    .accountingPeriod("2024-11")
+                    .batchId("benchmark")
+                    .type("Journal")
+                    .date(LocalDate.of(2024, 11, 1 + i % 30))
+                    .organisationId(ORGANISATION_ID)
+                    .build();
+            IntStream.range(0, ITEMS_PER_TRANSACTION).forEach(j -> transaction.addItem(
+                    TransactionItemEntity.builder()
+                            .id(UUID.randomUUID().toString())
+                            .amount(j % 2 == 0 ? "1500.00" : "-1500.00")
+                            .fxRate("1")
+                            .currency("CHF")
+                            .documentNumber("JOURNAL" + i)
+                            .eventCode("E1212")
+                            .eventName("Prepaid Expenses")
+                            .build()));
+            return transaction;
+        }).toList();
+    }
+}
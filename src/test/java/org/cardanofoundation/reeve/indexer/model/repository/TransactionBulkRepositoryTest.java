@@ -0,0 +1,155 @@
+package org.cardanofoundation.reeve.indexer.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.cardanofoundation.reeve.indexer.TestRows;
+import org.cardanofoundation.reeve.indexer.model.domain.RollupDimension;
+import org.cardanofoundation.reeve.indexer.model.domain.Transaction;
+import org.cardanofoundation.reeve.indexer.model.domain.TransactionItem;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionEntity;
+import org.cardanofoundation.reeve.indexer.model.view.RollupView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Amounts a numeric cannot hold are kept as text only, by the upsert as well as by the backfill,
+ * and neither rejects the other values with them. The backfill runs once per database. A
+ * re-delivered transaction replaces its items.
+ */
+@SpringBootTest
+class TransactionBulkRepositoryTest {
+
+    private static final String ORGANISATION_ID = "bulk-test";
+    private static final TestRows ROWS = new TestRows(9_210_000_000_000_000_000L, ORGANISATION_ID);
+
+    // The amounts and whether they have a numeric copy
+    private static final Map<String, Boolean> AMOUNTS = new TreeMap<>(Map.of(
+            "12.5", true,
+            "1e131071", true,
+            "1e-16383", true,
+            "1e131072", false,
+            "1e1000000", false,
+            "1.5e-16383", false,
+            "1e99999999999", false,
+            "n/a", false));
+
+    @Autowired
+    private TransactionBulkRepository transactionBulkRepository;
+    @Autowired
+    private RollupRepository rollupRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        ROWS.cleanUp(jdbcTemplate);
+    }
+
+    @Test
+    void amountsBeyondNumericStayText() {
+        TransactionEntity transaction = transaction(AMOUNTS.keySet().stream()
+                .map(amount -> item("bulk-test-0-" + amount, amount)).toList());
+
+        transactionTemplate.executeWithoutResult(status -> transactionBulkRepository.saveAll(List.of(transaction)));
+        assertEquals(AMOUNTS, numericCopies());
+
+        // The same items as they were stored before the numeric columns existed
+        forgetNumericCopies();
+        jdbcTemplate.update("DELETE FROM reeve_migration WHERE name = ?",
+                TransactionBulkRepository.BACKFILL_DECIMALS_MIGRATION);
+        transactionBulkRepository.backfillDecimals();
+        assertEquals(AMOUNTS, numericCopies());
+    }
+
+    @Test
+    void backfillRunsOncePerDatabase() {
+        ROWS.transactions("bulk-test", 1).insert(jdbcTemplate);
+        ROWS.items("bulk-test", 1, 1).insert(jdbcTemplate);
+        transactionBulkRepository.backfillDecimals();
+        forgetNumericCopies();
+
+        transactionBulkRepository.backfillDecimals();
+
+        assertEquals(Map.of("1", false), numericCopies());
+    }
+
+    @Test
+    void redeliveryWithFewerItemsDeletesTheOthers() {
+        save(transaction(List.of(item("bulk-test-0-a", "1"), item("bulk-test-0-b", "2"),
+                item("bulk-test-0-c", "4"))));
+
+        save(transaction(List.of(item("bulk-test-0-a", "8"))));
+
+        assertEquals(Map.of("8", true), numericCopies());
+        List<RollupView> rollups = rollupRepository.find(ORGANISATION_ID, RollupDimension.CURRENCY, null, null, null);
+        assertEquals(1, rollups.size());
+        assertEquals(0, new BigDecimal(8).compareTo(rollups.getFirst().getAmount()));
+        assertEquals(1, rollups.getFirst().getItems());
+    }
+
+    // The way MetadataWriter writes transactions
+    private void save(TransactionEntity transaction) {
+        transactionTemplate.executeWithoutResult(status -> {
+            rollupRepository.remove(List.of(transaction.getId()));
+            transactionBulkRepository.saveAll(List.of(transaction));
+            rollupRepository.add(List.of(transaction.getId()));
+        });
+    }
+
+    private static TransactionEntity transaction(List<TransactionItem> items) {
+        TransactionEntity transaction = Transaction.builder()
+                .id("bulk-test-0")
+                .number("JOURNAL0")
+                .batchId("batch")
+                .accountingPeriod("2024-11")
+                .type("Journal")
+                .date(LocalDate.of(2024, 1, 1))
+                .items(items)
+                .build()
+                .toEntity();
+        transaction.setOrganisationId(ORGANISATION_ID);
+        transaction.setTxHash("bulk-test-tx-0");
+        transaction.setSlot(ROWS.baseSlot());
+        transaction.setBlockNumber(ROWS.baseSlot());
+        transaction.getItems().forEach(item -> {
+            item.setSlot(ROWS.baseSlot());
+            item.setBlockNumber(ROWS.baseSlot());
+        });
+        return transaction;
+    }
+
+    private static TransactionItem item(String id, String amount) {
+        return TransactionItem.builder()
+                .id(id)
+                .amount(amount)
+                .fxRate("1")
+                .build();
+    }
+
+    private void forgetNumericCopies() {
+        jdbcTemplate.update("UPDATE reeve_transaction_item SET amount_value = NULL, fx_rate_value = NULL "
+                + "WHERE slot >= ?", ROWS.baseSlot());
+    }
+
+    private Map<String, Boolean> numericCopies() {
+        Map<String, Boolean> copies = new TreeMap<>();
+        jdbcTemplate.query("SELECT amount, amount_value IS NOT NULL FROM reeve_transaction_item WHERE slot >= ?",
+                resultSet -> {
+                    copies.put(resultSet.getString(1), resultSet.getBoolean(2));
+                }, ROWS.baseSlot());
+        return copies;
+    }
+}
@@ -0,0 +1,215 @@
+package org.cardanofoundation.reeve.indexer.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.cardanofoundation.reeve.indexer.TestRows;
+import org.cardanofoundation.reeve.indexer.model.domain.ItemCursor;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionItemEntity;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Runs the item search on a million synthetic items and checks with EXPLAIN that every filter
+ * combination is answered from an index.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.cardanofoundation.reeve.indexer.model.repository.TransactionItemSpecificationsTest$RecordingInspector")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionItemSpecificationsTest {
+
+    private static final TestRows ROWS = new TestRows(2_000_000_000_000_000L);
+    private static final int TRANSACTIONS = 250_000;
+    private static final int ITEMS_PER_TRANSACTION = 4;
+    private static final int ORGANISATIONS = 100;
+    private static final int EVENTS = 200;
+    private static final int PAGE_SIZE = 20;
+    private static final String ORGANISATION_ID = "search-test-7";
+
+    @Autowired
+    private TransactionItemRepository transactionItemRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void insertItems() {
+        cleanUp();
+        // Two years of journals spread over the organisations, one rare currency
+        ROWS.transactions("search-test", TRANSACTIONS)
+                .set("date", "DATE '2023-01-01' + (i / %d %% 730)".formatted(ORGANISATIONS))
+                .set("organisation_id", "'search-test-' || (i %% %d)".formatted(ORGANISATIONS))
+                .insert(jdbcTemplate);
+        ROWS.items("search-test", TRANSACTIONS, ITEMS_PER_TRANSACTION)
+                .amount("(i % 1000)::text")
+                .set("currency", "CASE WHEN i % 1000 = 0 THEN 'CHF' ELSE 'EUR' END")
+                .set("event_code", "'E' || ((i * 7 + j) %% %d)".formatted(EVENTS))
+                .insert(jdbcTemplate);
+        ROWS.analyze(jdbcTemplate, "reeve_transactions", "reeve_transaction_item");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        ROWS.cleanUp(jdbcTemplate);
+    }
+
+    @Test
+    void organisationAndDateRangeUseTheOrganisationDateIndex() {
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 31);
+        String plan = explain(TransactionItemSpecifications.search(ORGANISATION_ID, from, to, null, null,
+                null, null, null), ORGANISATION_ID, from, to);
+
+        assertTrue(plan.contains("idx_reeve_transactions_organisation_date"), plan);
+        assertTrue(plan.contains("idx_reeve_transaction_item_transaction"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    @Test
+    void eventAndCurrencyUseTheEventCurrencyIndex() {
+        String plan = explain(TransactionItemSpecifications.search(null, null, null, Set.of("E7"),
+                Set.of("CHF"), Optional.empty(), Optional.empty(), Set.of()), "E7", "CHF");
+
+        assertTrue(plan.contains("idx_reeve_transaction_item_event_currency"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    @Test
+    void currencyAloneUsesTheCurrencyIndex() {
+        String plan = explain(TransactionItemSpecifications.search(null, null, null, null, Set.of("CHF"),
+                null, null, null), "CHF");
+
+        assertTrue(plan.contains("idx_reeve_transaction_item_currency"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    @Test
+    void transactionHashUsesTheTxHashIndex() {
+        String plan = explain(TransactionItemSpecifications.search(null, null, null, null, null,
+                null, null, Set.of("search-test-tx-4711")), "search-test-tx-4711");
+
+        assertTrue(plan.contains("idx_reeve_transactions_tx_hash"), plan);
+        assertTrue(plan.contains("idx_reeve_transaction_item_transaction"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    @Test
+    void amountRangeUsesTheAmountIndex() {
+        BigDecimal min = new BigDecimal("998.5");
+        BigDecimal max = new BigDecimal("999");
+        String plan = explain(TransactionItemSpecifications.search(null, null, null, null, null,
+                Optional.of(min), Optional.of(max), null), min, max);
+
+        assertTrue(plan.contains("idx_reeve_transaction_item_amount_value"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    @Test
+    void amountRangeComparesNumbers() {
+        // As text "999" sorts after "1000" and "99.5" after "100"
+        Page<TransactionItemEntity> page = transactionItemRepository.findAll(
+                TransactionItemSpecifications.search(null, null, null, null, null,
+                        Optional.of(new BigDecimal("99.5")), Optional.of(new BigDecimal("100")),
+                        null), PageRequest.of(0, PAGE_SIZE));
+
+        assertEquals(TRANSACTIONS / 1000 * ITEMS_PER_TRANSACTION, page.getTotalElements());
+        page.forEach(item -> assertEquals("100", item.getAmount()));
+    }
+
+    @Test
+    void keysetSeekStartsAtTheCursor() {
+        ItemCursor cursor = new ItemCursor(LocalDate.of(2024, 6, 1), "search-test-150000", "search-test-150000-2");
+        String plan = explain(TransactionItemSpecifications.search(null, null, null, null, null, null, null, null)
+                .and(TransactionItemSpecifications.after(cursor)), TransactionItemSpecifications.KEYSET_ORDER,
+                cursor.date(), cursor.date(), cursor.transactionId(), cursor.transactionId(), cursor.itemId());
+
+        assertTrue(plan.contains("idx_reeve_transactions_date_id"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    @Test
+    void keysetPagesMatchTheOffsetPages() {
+        Specification<TransactionItemEntity> search = TransactionItemSpecifications.search(ORGANISATION_ID,
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 10), null, null, null, null, null);
+        List<String> expected = transactionItemRepository
+                .findAll(search, TransactionItemSpecifications.KEYSET_ORDER).stream()
+                .map(TransactionItemEntity::getId).toList();
+
+        List<String> paged = new ArrayList<>();
+        Specification<TransactionItemEntity> page = search;
+        while (true) {
+            List<TransactionItemEntity> items = transactionItemRepository.findBy(page,
+                    query -> query.sortBy(TransactionItemSpecifications.KEYSET_ORDER).limit(PAGE_SIZE).all());
+            if (items.isEmpty()) {
+                break;
+            }
+            items.forEach(item -> paged.add(item.getId()));
+            page = search.and(TransactionItemSpecifications.after(ItemCursor.of(items.getLast())));
+        }
+
+        assertTrue(expected.size() > 2 * PAGE_SIZE);
+        assertEquals(expected, paged);
+    }
+
+    @Test
+    void searchReturnsTheMatchingItems() {
+        Page<TransactionItemEntity> page = transactionItemRepository.findAll(
+                TransactionItemSpecifications.search(null, null, null, null, null, null, null,
+                        Set.of("search-test-tx-4711")), PageRequest.of(0, PAGE_SIZE));
+
+        assertEquals(ITEMS_PER_TRANSACTION, page.getTotalElements());
+        page.forEach(item -> assertEquals("search-test-4711", item.getTransaction().getId()));
+    }
+
+    /**
+     * Runs the search, then explains the select Hibernate sent with the given filter values, the
+     * offset and the page size bound in the order they appear in the statement.
+     */
+    private String explain(Specification<TransactionItemEntity> specification, Object... filters) {
+        return explain(specification, Sort.unsorted(), filters);
+    }
+
+    private String explain(Specification<TransactionItemEntity> specification, Sort sort, Object... filters) {
+        RecordingInspector.STATEMENTS.clear();
+        transactionItemRepository.findAll(specification, PageRequest.of(0, PAGE_SIZE, sort));
+        String select = RecordingInspector.STATEMENTS.stream()
+                .filter(sql -> sql.contains("reeve_transaction_item") && !sql.contains("count("))
+                .findFirst().orElseThrow();
+        // Only the supplied filters are part of the statement
+        assertFalse(select.toLowerCase().contains("is null"), select);
+
+        List<Object> parameters = new ArrayList<>(List.of(filters));
+        parameters.add(0);
+        parameters.add(PAGE_SIZE);
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + select, String.class,
+                parameters.toArray()));
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package org.cardanofoundation.reeve.indexer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.cardanofoundation.reeve.indexer.TestRows;
+import org.cardanofoundation.reeve.indexer.model.domain.Currency;
+import org.cardanofoundation.reeve.indexer.model.domain.Document;
+import org.cardanofoundation.reeve.indexer.model.domain.Event;
+import org.cardanofoundation.reeve.indexer.model.domain.Interval;
+import org.cardanofoundation.reeve.indexer.model.domain.Organisation;
+import org.cardanofoundation.reeve.indexer.model.domain.RawMetadata;
+import org.cardanofoundation.reeve.indexer.model.domain.ReconciliationStatus;
+import org.cardanofoundation.reeve.indexer.model.domain.ReeveTransactionType;
+import org.cardanofoundation.reeve.indexer.model.domain.Transaction;
+import org.cardanofoundation.reeve.indexer.model.domain.TransactionItem;
+import org.cardanofoundation.reeve.indexer.model.repository.RollbackRepository;
+import org.cardanofoundation.reeve.indexer.model.view.ReconciliationView;
+import org.cardanofoundation.reeve.indexer.yaci.MetadataWriter;
+import org.cardanofoundation.reeve.indexer.yaci.OrganisationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes items and reports through the ingest path and reconciles after every step, only the
+ * reports whose periods changed are checked again. The background run is off, the test runs it.
+ * A claim of a queued period waits for a writer of its items.
+ */
+@SpringBootTest(properties = {
+        "reeve.reconciliation.enabled=false",
+        "reeve.reconciliation.rules[0].report-type=RECONCILIATION_TEST",
+        "reeve.reconciliation.rules[0].field=revenues.other_income",
+        "reeve.reconciliation.rules[0].events=E1,-E2",
+        "reeve.reconciliation.rules[1].report-type=RECONCILIATION_TEST",
+        "reeve.reconciliation.rules[1].field=profit_for_the_year",
+        "reeve.reconciliation.rules[1].events=E3",
+        "reeve.reconciliation.rules[2].report-type=RECONCILIATION_TEST",
+        "reeve.reconciliation.rules[2].field=missing",
+        "reeve.reconciliation.rules[2].events=E1"})
+class ReconciliationServiceTest {
+
+    private static final String ORGANISATION_ID = "reconciliation-test";
+    private static final TestRows ROWS = new TestRows(9_150_000_000_000_000_000L, ORGANISATION_ID);
+    private static final String REPORT_TYPE = "RECONCILIATION_TEST";
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+    @Autowired
+    private MetadataWriter metadataWriter;
+    @Autowired
+    private RollbackRepository rollbackRepository;
+    @Autowired
+    private OrganisationRegistry organisationRegistry;
+    @Autowired
+    private DataVersionService dataVersionService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        ROWS.cleanUp(jdbcTemplate);
+        organisationRegistry.reload();
+        dataVersionService.reload();
+    }
+
+    @Test
+    void onlyReportsOfChangedPeriodsAreCheckedAgain() {
+        write(ROWS.baseSlot(),
+                transactions("2024-01", "E1", "100", "2024-02", "E2", "30.00", "2024-03", "E3", "50",
+                        "2024-04", "E1", "1000"),
+                report(Interval.QUARTER, 1, 1, "{\"revenues\": {\"other_income\": \"70\"}, \"profit_for_the_year\": 49}"),
+                report(Interval.MONTH, 4, 1, "{\"revenues\": {\"other_income\": 1000}}"));
+
+        assertEquals(2, reconcile());
+        assertEquals(Map.of(
+                "QUARTER 1 revenues.other_income", "MATCHED 70 / 70",
+                "QUARTER 1 profit_for_the_year", "MISMATCHED 49 / 50",
+                "QUARTER 1 missing", "NOT_REPORTED null / 100",
+                "MONTH 4 revenues.other_income", "MATCHED 1000 / 1000",
+                "MONTH 4 profit_for_the_year", "NOT_REPORTED null / 0",
+                "MONTH 4 missing", "NOT_REPORTED null / 1000"), results());
+
+        // An item in March only concerns the quarter
+        write(ROWS.slot(1), transactions("2024-03", "E3", "-1"));
+        assertEquals(1, reconcile());
+        assertEquals("MATCHED 49 / 49", results().get("QUARTER 1 profit_for_the_year"));
+        assertEquals(0, reconcile());
+
+        // A new version of the quarter is checked, its periods are checked again after a rollback
+        write(ROWS.slot(2), List.of(), report(Interval.QUARTER, 1, 2, "{\"profit_for_the_year\": 50}"));
+        assertEquals(1, reconcile());
+        ReconciliationView profit = reconciliationService.find(ORGANISATION_ID, REPORT_TYPE, Interval.QUARTER, 2024,
+                1, ReconciliationStatus.MISMATCHED).getFirst();
+        assertEquals(2L, profit.getVer());
+        assertEquals(new BigDecimal("1"), profit.getDifference());
+
+        transactionTemplate.executeWithoutResult(status -> rollbackRepository.deleteBySlotGreaterThan(ROWS.baseSlot()));
+        assertEquals(1, reconcile());
+        assertEquals("MISMATCHED 49 / 50", results().get("QUARTER 1 profit_for_the_year"));
+        assertEquals(1L, reconciliationService.find(ORGANISATION_ID, REPORT_TYPE, Interval.QUARTER, 2024, 1, null)
+                .getFirst().getVer());
+    }
+
+    @Test
+    void claimWaitsForAWriterOfAQueuedPeriod() throws Exception {
+        write(ROWS.baseSlot(), transactions("2024-03", "E3", "50"),
+                report(Interval.QUARTER, 1, 1, "{\"profit_for_the_year\": 60}"));
+        reconcile();
+        write(ROWS.slot(1), transactions("2024-03", "E3", "5"));
+
+        // A writer adds to the queued period and commits only once the claim waits for it
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> writer = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                write(ROWS.slot(2), transactions("2024-03", "E3", "7"));
+                written.countDown();
+                try {
+                    commit.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+            Future<Integer> reconciled = executor.submit(reconciliationService::reconcilePending);
+            awaitClaimWaiting();
+            commit.countDown();
+            writer.get(10, TimeUnit.SECONDS);
+            assertEquals(1, reconciled.get(10, TimeUnit.SECONDS));
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+
+        assertEquals("MISMATCHED 60 / 62", results().get("QUARTER 1 profit_for_the_year"));
+        assertEquals(0, reconcile());
+    }
+
+    @Test
+    void reportsCoverTheMonthsOfTheirInterval() {
+        assertEquals(List.of("2024-02"), ReconciliationService.accountingPeriods(Interval.MONTH, 2024, 2));
+        assertEquals(List.of("2024-10", "2024-11", "2024-12"),
+                ReconciliationService.accountingPeriods(Interval.QUARTER, 2024, 4));
+        assertEquals(12, ReconciliationService.accountingPeriods(Interval.YEAR, 2023, null).size());
+        assertEquals(List.of(), ReconciliationService.accountingPeriods(Interval.MONTH, null, 1));
+    }
+
+    private void awaitClaimWaiting() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (jdbcTemplate.queryForObject("""
+                    SELECT EXISTS (SELECT 1 FROM pg_stat_activity
+                    WHERE wait_event_type = 'Lock' AND query LIKE 'DELETE FROM reeve_reconciliation_pending%')
+                    """, Boolean.class)) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        fail("The claim did not wait for the writer");
+    }
+
+    private int reconcile() {
+        int reports = reconciliationService.reconcilePending();
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM reeve_reconciliation_pending WHERE organisation_id = ?", Long.class,
+                ORGANISATION_ID));
+        return reports;
+    }
+
+    // The results as "interval period field" to "status reported / computed"
+    private Map<String, String> results() {
+        Map<String, String> results = new TreeMap<>();
+        reconciliationService.find(ORGANISATION_ID, null, null, null, null, null).forEach(result -> results.put(
+                result.getIntervalType() + " " + result.getPeriod() + " " + result.getField(),
+                result.getStatus() + " " + plain(result.getReported()) + " / " + plain(result.getComputed())));
+        return results;
+    }
+
+    private static String plain(BigDecimal value) {
+        return value == null ? "null" : value.stripTrailingZeros().toPlainString();
+    }
+
+    private void write(long slot, List<Transaction> transactions, RawMetadata... reports) {
+        Organisation organisation = Organisation.builder().id(ORGANISATION_ID).name("Reconciliation test")
+                .currencyId("ISO_4217:CHF").build();
+        List<RawMetadata> list = new ArrayList<>();
+        if (!transactions.isEmpty()) {
+            list.add(RawMetadata.builder()
+                    .txHash("reconciliation-test-" + slot)
+                    .slot(slot)
+                    .blockNumber(slot)
+                    .org(organisation)
+                    .type(ReeveTransactionType.INDIVIDUAL_TRANSACTIONS)
+                    .data(transactions)
+                    .build());
+        }
+        for (RawMetadata report : reports) {
+            report.setTxHash("reconciliation-test-" + slot + "-" + report.getInterval());
+            report.setSlot(slot);
+            report.setBlockNumber(slot);
+            report.setOrg(organisation);
+            list.add(report);
+        }
+        transactionTemplate.executeWithoutResult(status -> metadataWriter.write(list));
+    }
+
+    private static RawMetadata report(Interval interval, int period, long ver, String fields) {
+        return RawMetadata.builder()
+                .type(ReeveTransactionType.REPORT)
+                .interval(interval)
+                .year(2024)
+                .period(period)
+                .subType(REPORT_TYPE)
+                .ver(ver)
+                .data(fields)
+                .build();
+    }
+
+    // One transaction with one item per period, event code and amount
+    private static List<Transaction> transactions(String... values) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < values.length; i += 3) {
+            String id = "reconciliation-test-" + values[i] + "-" + values[i + 1] + "-" + values[i + 2];
+            transactions.add(Transaction.builder()
+                    .id(id)
+                    .number("JOURNAL" + i)
+                    .batchId("batch")
+                    .accountingPeriod(values[i])
+                    .type("Journal")
+                    .date(LocalDate.of(2024, 1, 1))
+                    .items(List.of(TransactionItem.builder()
+                            .id(id + "-1")
+                            .amount(values[i + 2])
+                            .fxRate("1")
+                            .event(Event.builder().code(values[i + 1]).build())
+                            .document(Document.builder().number("D" + i)
+                                    .currency(Currency.builder().custCode("CHF").build()).build())
+                            .build()))
+                    .build());
+        }
+        return transactions;
+    }
+}
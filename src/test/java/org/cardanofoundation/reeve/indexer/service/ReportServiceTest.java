@@ -0,0 +1,122 @@
+package org.cardanofoundation.reeve.indexer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Map;
+import org.cardanofoundation.reeve.indexer.TestRows;
+import org.cardanofoundation.reeve.indexer.model.view.ReportView;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Counts the statements of a report search, they may not grow with the number of reports, and
+ * checks the stored fields reach the response unchanged. The rows are written around the data
+ * versions, so the search cache is off, see SearchCacheTest.
+ */
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "reeve.cache.reports.enabled=false"})
+class ReportServiceTest {
+
+    private static final TestRows ROWS = new TestRows(5_000_000_000_000_000L);
+    private static final String REPORT_TYPE = "REPORT_SERVICE_TEST";
+    private static final int ORGANISATIONS = 3;
+
+    @Autowired
+    private ReportService reportService;
+    @Autowired
+    private OrganisationService organisationService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void cleanUp() {
+        ROWS.cleanUp(jdbcTemplate);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void statementCountDoesNotGrowWithTheReports(boolean includeHistory) {
+        long few = statementsToSearch(10, includeHistory);
+        long many = statementsToSearch(200, includeHistory);
+
+        assertEquals(few, many);
+        // The reports and the organisations that are not cached yet
+        assertTrue(many <= 2, "statements " + many);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void cachedOrganisationsAreNotQueriedAgain(boolean includeHistory) {
+        statementsToSearch(10, includeHistory);
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        reportService.findAllByTypeAndPeriod(null, REPORT_TYPE, null, null, null, includeHistory);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void fieldsAreWrittenLikeTheParsedMap() throws Exception {
+        insertReports(1);
+        String stored = """
+                {"cogs": {"cost_of_providing_services": "2500.10"}, "total": 1.50, "count": 12,
+                 "items": [true, null, "a \\"quoted\\" text"], "empty": {}}""";
+        jdbcTemplate.update("UPDATE reeve_reports SET fields = ?::jsonb WHERE slot >= ?", stored, ROWS.baseSlot());
+
+        String response = objectMapper.writeValueAsString(
+                reportService.findAllByTypeAndPeriod(null, REPORT_TYPE, null, null, null, true));
+
+        JsonNode fields = objectMapper.readTree(response).get(0).get("fields");
+        assertEquals(objectMapper.valueToTree(objectMapper.readValue(stored, Map.class)), fields);
+        assertEquals("2500.10", fields.get("cogs").get("cost_of_providing_services").asText());
+    }
+
+    private long statementsToSearch(int reports, boolean includeHistory) {
+        cleanUp();
+        insertReports(reports);
+        organisationService.evictAll();
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        List<ReportView> views = reportService.findAllByTypeAndPeriod(null, REPORT_TYPE, null, null, null,
+                includeHistory);
+
+        assertEquals(reports, views.size());
+        views.forEach(view -> assertEquals("CUR-" + view.getOrganisationId(), view.getCurrency()));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void insertReports(int reports) {
+        ROWS.rows("reeve_organisation", ORGANISATIONS)
+                .set("id", "'report-service-test-' || i")
+                .set("name", "'Report test'")
+                .set("currency_id", "'CUR-report-service-test-' || i")
+                .insert(jdbcTemplate);
+        ROWS.reports(-1_000_000, REPORT_TYPE, reports)
+                .set("organisation_id", "'report-service-test-' || i % " + ORGANISATIONS)
+                .set("report_key", "'report-service-test|' || i")
+                .insert(jdbcTemplate);
+        ROWS.insertCurrentReports(jdbcTemplate);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
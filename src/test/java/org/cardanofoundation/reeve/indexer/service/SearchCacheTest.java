@@ -0,0 +1,201 @@
+package org.cardanofoundation.reeve.indexer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.cardanofoundation.reeve.indexer.TestRows;
+import org.cardanofoundation.reeve.indexer.model.request.TotalMode;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Searches are answered without a statement until the data of their organisation changes, a
+ * change of another organisation keeps them.
+ */
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "reeve.cache.reports.max-entries=3"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SearchCacheTest {
+
+    private static final String ORGANISATION_ID = "cache-test";
+    private static final String OTHER_ORGANISATION_ID = "cache-test-other";
+    private static final TestRows ROWS = new TestRows(9_100_000_000_000_000_000L, ORGANISATION_ID,
+            OTHER_ORGANISATION_ID);
+    private static final String REPORT_TYPE = "SEARCH_CACHE_TEST";
+
+    @Autowired
+    private ReportService reportService;
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private DataVersionService dataVersionService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    void insertRows() {
+        cleanUp();
+        List<String> organisationIds = List.of(ORGANISATION_ID, OTHER_ORGANISATION_ID);
+        for (int i = 0; i < organisationIds.size(); i++) {
+            String organisationId = TestRows.literal(organisationIds.get(i));
+            ROWS.rows("reeve_organisation", 1)
+                    .set("id", organisationId)
+                    .set("name", "'Cache test'")
+                    .set("currency_id", "'ISO_4217:CHF'")
+                    .insert(jdbcTemplate);
+            ROWS.reports(-2_000_000 - i, REPORT_TYPE, 1)
+                    .set("organisation_id", organisationId)
+                    .set("report_key", organisationId)
+                    .insert(jdbcTemplate);
+        }
+        ROWS.insertCurrentReports(jdbcTemplate);
+        ROWS.transactions("cache-test", 1).insert(jdbcTemplate);
+        ROWS.items("cache-test", 1, 1).amount("'10'").insert(jdbcTemplate);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        ROWS.cleanUp(jdbcTemplate);
+        dataVersionService.reload();
+    }
+
+    // Starts every test with empty caches
+    @BeforeEach
+    void reload() {
+        dataVersionService.reload();
+    }
+
+    @Test
+    void repeatedSearchIsAnsweredFromTheCache() {
+        double hits = requests("hit");
+
+        assertTrue(statementsToSearchReports(ORGANISATION_ID, 0) > 0, "first search");
+        assertEquals(0, statementsToSearchReports(ORGANISATION_ID, 0), "second search");
+        assertEquals(hits + 1, requests("hit"));
+    }
+
+    @Test
+    void onlyTheChangedOrganisationIsEvicted() {
+        statementsToSearchReports(ORGANISATION_ID, 0);
+        statementsToSearchReports(OTHER_ORGANISATION_ID, 0);
+
+        changed(OTHER_ORGANISATION_ID);
+
+        assertEquals(0, statementsToSearchReports(ORGANISATION_ID, 0));
+        assertEquals(1, statementsToSearchReports(OTHER_ORGANISATION_ID, 0));
+    }
+
+    @Test
+    void searchesOnAllOrganisationsGoWithAnyChange() {
+        statementsToSearchReports(null, 0);
+        assertEquals(0, statementsToSearchReports(null, 0));
+
+        changed(OTHER_ORGANISATION_ID);
+
+        assertTrue(statementsToSearchReports(null, 0) > 0);
+    }
+
+    @Test
+    void leastRecentlyUsedSearchIsEvicted() {
+        double evictions = meterRegistry.get("reeve.cache.evictions").tag("cache", "reports").tag("cause", "size")
+                .counter().count();
+        for (int period = 0; period < 3; period++) {
+            statementsToSearchReports(ORGANISATION_ID, period);
+        }
+        // Period 1 is now the least recently used one
+        statementsToSearchReports(ORGANISATION_ID, 0);
+
+        statementsToSearchReports(ORGANISATION_ID, 3);
+
+        assertEquals(0, statementsToSearchReports(ORGANISATION_ID, 0));
+        assertEquals(1, statementsToSearchReports(ORGANISATION_ID, 1));
+        assertEquals(evictions + 2, meterRegistry.get("reeve.cache.evictions").tag("cache", "reports")
+                .tag("cause", "size").counter().count());
+    }
+
+    @Test
+    void equalSearchesShareAnEntry() {
+        transactionService.findTransactionItems(ORGANISATION_ID, null, null, null, null,
+                Optional.of(new BigDecimal("10")), Optional.empty(), null, TotalMode.EXACT, PageRequest.of(0, 10));
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        var view = transactionService.findTransactionItems(ORGANISATION_ID, null, null, Set.of(), Set.of(),
+                Optional.of(new BigDecimal("10.00")), null, Set.of(), TotalMode.EXACT, PageRequest.of(0, 10));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, view.getTransactions().size());
+    }
+
+    @Test
+    void resultsAboveTheWeightLimitAreEvicted() {
+        SearchCache<String> cache = new SearchCache<>("weight-test", true, 10, 10, String::length,
+                dataVersionService, new SimpleMeterRegistry());
+
+        cache.get(ORGANISATION_ID, () -> "aaaaaa", "a");
+        cache.get(ORGANISATION_ID, () -> "bbbbbb", "b");
+        cache.get(ORGANISATION_ID, () -> "more than ten", "c");
+
+        assertEquals(1, cache.size());
+        assertEquals(6, cache.weight());
+        assertEquals("bbbbbb", cache.get(ORGANISATION_ID, () -> "reloaded", "b"));
+    }
+
+    @Test
+    void disabledCacheAlwaysLoads() {
+        SearchCache<String> cache = new SearchCache<>("disabled-test", false, 10, 100, String::length,
+                dataVersionService, new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("load 1", cache.get(ORGANISATION_ID, () -> "load " + loads.incrementAndGet(), "a"));
+        assertEquals("load 2", cache.get(ORGANISATION_ID, () -> "load " + loads.incrementAndGet(), "a"));
+        assertEquals(0, cache.size());
+    }
+
+    private long statementsToSearchReports(String organisationId, int period) {
+        Statistics statistics = statistics();
+        statistics.clear();
+        reportService.findAllByTypeAndPeriod(organisationId, REPORT_TYPE, null, null, (short) period, false);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void changed(String organisationId) {
+        transactionTemplate.executeWithoutResult(status -> dataVersionService.changed(
+                new TreeMap<>(Map.of(organisationId, ROWS.slot(1)))));
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("reeve.cache.requests").tag("cache", "reports").tag("result", result)
+                .counter().count();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,123 @@
+package org.cardanofoundation.reeve.indexer.service;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import org.cardanofoundation.reeve.indexer.TestRows;
+import org.cardanofoundation.reeve.indexer.model.request.ExportFormat;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Exports a tenth and all of two million items and reports the throughput and the heap still in
+ * use after a full collection, sampled while the export runs. The retained heap has to be the
+ * same for both. Run with {@code ./gradlew benchmark}.
+ */
+@SpringBootTest
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionExportBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionExportBenchmark.class);
+
+    private static final String ORGANISATION_ID = "export-benchmark";
+    private static final TestRows ROWS = new TestRows(8_000_000_000_000_000L, ORGANISATION_ID);
+    private static final int TRANSACTIONS = 500_000;
+    private static final int ITEMS_PER_TRANSACTION = 4;
+    private static final int DAYS = 730;
+    // Every 20th segment
+    private static final int SAMPLE_EVERY_BYTES = 20 * 5_000 * 300;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void insertItems() {
+        cleanUp();
+        ROWS.transactions("export-benchmark", TRANSACTIONS)
+                .set("tx_hash", "md5(i::text) || md5(i::text)")
+                .set("date", "DATE '2023-01-01' + i % " + DAYS)
+                .insert(jdbcTemplate);
+        ROWS.items("export-benchmark", TRANSACTIONS, ITEMS_PER_TRANSACTION)
+                .amount("'1500.00'")
+                .set("document_number", "'JOURNAL' || i")
+                .set("costcenter_name", "'General Administration'")
+                .set("costcenter_cust_code", "'4300'")
+                .set("event_code", "'E1212'")
+                .set("event_name", "'Prepaid Expenses'")
+                .set("project_cust_code", "'AN 000001 2023'")
+                .set("project_name", "'Cardano Summit 2023'")
+                .insert(jdbcTemplate);
+        ROWS.analyze(jdbcTemplate, "reeve_transactions", "reeve_transaction_item");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        ROWS.cleanUp(jdbcTemplate);
+    }
+
+    @Test
+    void retainedHeapDoesNotGrowWithTheExport() throws Exception {
+        LocalDate start = LocalDate.of(2023, 1, 1);
+        for (ExportFormat format : ExportFormat.values()) {
+            measure(format, start.plusDays(DAYS / 10 - 1));
+            measure(format, null);
+        }
+    }
+
+    private void measure(ExportFormat format, LocalDate dateTo) throws Exception {
+        SamplingOutputStream out = new SamplingOutputStream();
+        System.gc();
+        long before = usedHeap();
+        long started = System.nanoTime();
+        long items = transactionExportService.export(ORGANISATION_ID, null, dateTo, null, null, null, null, null,
+                format, out);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("{} {} items: {} MB in {} s, {} items/s, retained heap before {} MB, max during export {} MB",
+                format, items, out.bytes / 1024 / 1024, "%.1f".formatted(seconds), Math.round(items / seconds),
+                before / 1024 / 1024, out.maxRetained / 1024 / 1024);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Counts the bytes and every few segments measures what survives a full collection
+    private static class SamplingOutputStream extends OutputStream {
+
+        private long bytes;
+        private long sinceSample;
+        private long maxRetained;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            sinceSample++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            sinceSample += len;
+        }
+
+        @Override
+        public void flush() {
+            if (sinceSample >= SAMPLE_EVERY_BYTES) {
+                sinceSample = 0;
+                System.gc();
+                maxRetained = Math.max(maxRetained, usedHeap());
+            }
+        }
+    }
+}
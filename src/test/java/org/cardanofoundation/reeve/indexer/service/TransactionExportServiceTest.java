@@ -0,0 +1,101 @@
+package org.cardanofoundation.reeve.indexer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.cardanofoundation.reeve.indexer.TestRows;
+import org.cardanofoundation.reeve.indexer.model.request.ExportFormat;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Exports in segments far smaller than the data, the result has to match one ordered query.
+ */
+@SpringBootTest(properties = {"reeve.export.segment-rows=100", "reeve.export.fetch-size=10"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionExportServiceTest {
+
+    private static final String ORGANISATION_ID = "export-test";
+    private static final TestRows ROWS = new TestRows(7_000_000_000_000_000L, ORGANISATION_ID);
+    private static final int TRANSACTIONS = 1_000;
+    private static final int ITEMS_PER_TRANSACTION = 3;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    void insertItems() {
+        cleanUp();
+        ROWS.transactions("export-test", TRANSACTIONS)
+                .set("date", "DATE '2024-01-01' + i % 30")
+                .insert(jdbcTemplate);
+        ROWS.items("export-test", TRANSACTIONS, ITEMS_PER_TRANSACTION)
+                .set("event_code", "'E' || j")
+                .set("project_name", "'Summit \"2024\", Paris'")
+                .insert(jdbcTemplate);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        ROWS.cleanUp(jdbcTemplate);
+    }
+
+    @Test
+    void ndjsonHasEveryItemOnceInKeysetOrder() throws IOException {
+        List<String> expected = jdbcTemplate.queryForList("""
+                SELECT i.id FROM reeve_transaction_item i JOIN reeve_transactions t ON t.id = i.transaction_id
+                WHERE t.organisation_id = ? ORDER BY t.date, t.id, i.id
+                """, String.class, ORGANISATION_ID);
+
+        List<String> lines = export(null, ExportFormat.NDJSON);
+
+        List<String> ids = new ArrayList<>();
+        for (String line : lines) {
+            ids.add(objectMapper.readTree(line).get("id").asText());
+        }
+        assertEquals(expected, ids);
+        JsonNode first = objectMapper.readTree(lines.getFirst());
+        assertEquals("2024-01-01", first.get("entryDate").asText());
+        assertEquals("export-test-tx-0", first.get("blockChainHash").asText());
+    }
+
+    @Test
+    void filtersApplyToTheExport() throws IOException {
+        assertEquals(TRANSACTIONS, export(Set.of("E2"), ExportFormat.NDJSON).size());
+    }
+
+    @Test
+    void csvHasTheFieldsOfTheSearchResponse() throws IOException {
+        List<String> lines = export(Set.of("E2"), ExportFormat.CSV);
+
+        assertEquals(TRANSACTIONS + 1, lines.size());
+        assertEquals("id,transactionInternalNumber,entryDate,transactionType,blockChainHash,amountLcy,fxRate,"
+                + "costCenterCustomerCode,costCenterName,projectCustomerCode,projectName,accountEventCode,"
+                + "accountEventName,documentNum,documentCurrencyCustomerCode,vatCustomerCode,vatRate,"
+                + "counterPartyType,counterPartyCustCode", lines.getFirst());
+        assertEquals("export-test-0-2,JOURNAL0,2024-01-01,Journal,export-test-tx-0,1,1,,,,"
+                + "\"Summit \"\"2024\"\", Paris\",E2,,,CHF,,,,", lines.get(1));
+    }
+
+    private List<String> export(Set<String> events, ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionExportService.export(ORGANISATION_ID, null, null, events, null, null, null, null, format, out);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+}
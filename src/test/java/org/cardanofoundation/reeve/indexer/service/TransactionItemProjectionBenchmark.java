@@ -0,0 +1,145 @@
+package org.cardanofoundation.reeve.indexer.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import org.cardanofoundation.reeve.indexer.TestRows;
+import org.cardanofoundation.reeve.indexer.model.entity.TransactionItemEntity;
+import org.cardanofoundation.reeve.indexer.model.repository.TransactionItemRepository;
+import org.cardanofoundation.reeve.indexer.model.repository.TransactionItemSpecifications;
+import org.cardanofoundation.reeve.indexer.model.request.TotalMode;
+import org.cardanofoundation.reeve.indexer.model.view.ExtractionTransactionItemView;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Compares reading 1,000 item pages as entities and mapping them to views with the projection
+ * of the transaction search. Both count the total, the rounds alternate between them and stay on
+ * the first pages, so the difference is the reading of the rows. The projection is measured once
+ * more without the total. Reports the statements, the heap allocated by the calling thread and
+ * the p99 latency per page. Run with {@code ./gradlew benchmark}.
+ */
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "reeve.cache.transactions.enabled=false"})
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionItemProjectionBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionItemProjectionBenchmark.class);
+
+    private static final String ORGANISATION_ID = "projection-benchmark";
+    private static final TestRows ROWS = new TestRows(6_000_000_000_000_000L, ORGANISATION_ID);
+    private static final int TRANSACTIONS = 50_000;
+    private static final int ITEMS_PER_TRANSACTION = 4;
+    private static final int PAGE_SIZE = 1_000;
+    private static final int PAGES = 10;
+    private static final Sort ORDER = Sort.by("id");
+    private static final int WARMUP = 50;
+    private static final int ROUNDS = 200;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private TransactionItemRepository transactionItemRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    void insertItems() {
+        cleanUp();
+        ROWS.transactions("projection-benchmark", TRANSACTIONS)
+                .set("tx_hash", "md5(i::text) || md5(i::text)")
+                .set("date", "DATE '2023-01-01' + i % 730")
+                .insert(jdbcTemplate);
+        ROWS.items("projection-benchmark", TRANSACTIONS, ITEMS_PER_TRANSACTION)
+                .amount("'1500.00'")
+                .set("document_number", "'JOURNAL' || i")
+                .set("costcenter_name", "'General Administration'")
+                .set("costcenter_cust_code", "'4300'")
+                .set("event_code", "'E1212'")
+                .set("event_name", "'Prepaid Expenses'")
+                .set("project_cust_code", "'AN 000001 2023'")
+                .set("project_name", "'Cardano Summit 2023'")
+                .insert(jdbcTemplate);
+        ROWS.analyze(jdbcTemplate, "reeve_transactions", "reeve_transaction_item");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        ROWS.cleanUp(jdbcTemplate);
+    }
+
+    @Test
+    void entitiesAndProjection() {
+        Specification<TransactionItemEntity> search = TransactionItemSpecifications.search(ORGANISATION_ID, null,
+                null, null, null, null, null, null);
+        Map<String, IntFunction<List<ExtractionTransactionItemView>>> searches = new LinkedHashMap<>();
+        searches.put("entities", page -> transactionItemRepository
+                .findAll(search, PageRequest.of(page, PAGE_SIZE, ORDER))
+                .map(ExtractionTransactionItemView::fromEntity).getContent());
+        searches.put("projection", page -> transactionService.findTransactionItems(ORGANISATION_ID, null, null,
+                null, null, null, null, null, TotalMode.EXACT, PageRequest.of(page, PAGE_SIZE, ORDER))
+                .getTransactions());
+        searches.put("projection without total", page -> transactionService.findTransactionItems(ORGANISATION_ID,
+                null, null, null, null, null, null, null, TotalMode.NONE, PageRequest.of(page, PAGE_SIZE, ORDER))
+                .getTransactions());
+
+        for (int i = 0; i < WARMUP; i++) {
+            for (IntFunction<List<ExtractionTransactionItemView>> page : searches.values()) {
+                page.apply(i % PAGES);
+            }
+        }
+        Map<String, double[]> millis = new LinkedHashMap<>();
+        Map<String, long[]> allocated = new LinkedHashMap<>();
+        Map<String, long[]> statements = new LinkedHashMap<>();
+        searches.keySet().forEach(name -> {
+            millis.put(name, new double[ROUNDS]);
+            allocated.put(name, new long[1]);
+            statements.put(name, new long[1]);
+        });
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int i = 0; i < ROUNDS; i++) {
+            for (Map.Entry<String, IntFunction<List<ExtractionTransactionItemView>>> page : searches.entrySet()) {
+                statistics.clear();
+                long bytes = THREADS.getCurrentThreadAllocatedBytes();
+                long start = System.nanoTime();
+                List<ExtractionTransactionItemView> items = page.getValue().apply(i % PAGES);
+                millis.get(page.getKey())[i] = (System.nanoTime() - start) / 1e6;
+                allocated.get(page.getKey())[0] += THREADS.getCurrentThreadAllocatedBytes() - bytes;
+                statements.get(page.getKey())[0] += statistics.getPrepareStatementCount();
+                if (items.size() != PAGE_SIZE) {
+                    throw new IllegalStateException("Expected a full page, got " + items.size());
+                }
+            }
+        }
+        searches.keySet().forEach(name -> {
+            double[] sorted = millis.get(name);
+            Arrays.sort(sorted);
+            log.info("{}: {} statements, {} KB allocated per page, p50 {} ms, p99 {} ms", name,
+                    statements.get(name)[0] / ROUNDS, allocated.get(name)[0] / ROUNDS / 1024, "%.2f".formatted(sorted[ROUNDS / 2]),
+                    "%.2f".formatted(sorted[(int) Math.ceil(ROUNDS * 0.99) - 1]));
+        });
+    }
+}
@@ -0,0 +1,111 @@
+package org.cardanofoundation.reeve.indexer.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.cardanofoundation.reeve.indexer.TestRows;
+import org.cardanofoundation.reeve.indexer.model.domain.ItemCursor;
+import org.cardanofoundation.reeve.indexer.model.repository.TransactionItemSpecifications;
+import org.cardanofoundation.reeve.indexer.model.request.TotalMode;
+import org.cardanofoundation.reeve.indexer.model.view.ExtractionTransactionView;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Compares offset paging in every total mode with cursor paging of the transaction search, from
+ * the first to the 10,000th page of one organisation. Run with {@code ./gradlew benchmark}.
+ */
+@SpringBootTest(properties = "reeve.cache.transactions.enabled=false")
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionSearchBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionSearchBenchmark.class);
+
+    private static final String ORGANISATION_ID = "search-benchmark";
+    private static final TestRows ROWS = new TestRows(3_000_000_000_000_000L, ORGANISATION_ID);
+    private static final int TRANSACTIONS = 62_500;
+    private static final int ITEMS_PER_TRANSACTION = 4;
+    private static final int PAGE_SIZE = 20;
+    private static final List<Integer> PAGES = List.of(1, 10, 100, 1_000, 10_000);
+    private static final int WARMUP = 5;
+    private static final int ROUNDS = 15;
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void insertItems() {
+        cleanUp();
+        ROWS.transactions("search-benchmark", TRANSACTIONS)
+                .set("date", "DATE '2023-01-01' + i % 730")
+                .insert(jdbcTemplate);
+        ROWS.items("search-benchmark", TRANSACTIONS, ITEMS_PER_TRANSACTION)
+                .amount("'100'")
+                .set("event_code", "'E1212'")
+                .insert(jdbcTemplate);
+        ROWS.analyze(jdbcTemplate, "reeve_transactions", "reeve_transaction_item");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        ROWS.cleanUp(jdbcTemplate);
+    }
+
+    @Test
+    void offsetAndCursorPaging() {
+        for (int page : PAGES) {
+            ItemCursor cursor = cursorBefore(page);
+            PageRequest pageRequest = PageRequest.of(page - 1, PAGE_SIZE, TransactionItemSpecifications.KEYSET_ORDER);
+            String timings = Arrays.stream(TotalMode.values())
+                    .map(totalMode -> "offset %s %.2f ms".formatted(totalMode, medianMillis(() ->
+                            transactionService.findTransactionItems(ORGANISATION_ID, null, null, null, null, null,
+                                    null, null, totalMode, pageRequest))))
+                    .collect(Collectors.joining(", "));
+            double keyset = medianMillis(() -> transactionService.findTransactionItemsAfter(ORGANISATION_ID, null,
+                    null, null, null, null, null, null, TotalMode.NONE, cursor, PAGE_SIZE));
+            log.info("page {}: {}, cursor {} ms", page, timings, "%.2f".formatted(keyset));
+        }
+    }
+
+    // The position a client's token holds after reading the pages before the given one
+    private ItemCursor cursorBefore(int page) {
+        if (page == 1) {
+            return null;
+        }
+        return jdbcTemplate.queryForObject("""
+                SELECT t.date, t.id, i.id FROM reeve_transaction_item i
+                JOIN reeve_transactions t ON t.id = i.transaction_id
+                WHERE t.organisation_id = ?
+                ORDER BY t.date, t.id, i.id OFFSET ? LIMIT 1
+                """, (rs, row) -> new ItemCursor(rs.getObject(1, LocalDate.class), rs.getString(2),
+                rs.getString(3)), ORGANISATION_ID, (page - 1) * PAGE_SIZE - 1);
+    }
+
+    private static double medianMillis(Supplier<ExtractionTransactionView> search) {
+        for (int i = 0; i < WARMUP; i++) {
+            search.get();
+        }
+        double[] millis = new double[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            search.get();
+            millis[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(millis);
+        return millis[ROUNDS / 2];
+    }
+}
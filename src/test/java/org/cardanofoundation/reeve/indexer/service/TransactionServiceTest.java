@@ -0,0 +1,128 @@
+package org.cardanofoundation.reeve.indexer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.cardanofoundation.reeve.indexer.TestRows;
+import org.cardanofoundation.reeve.indexer.model.request.TotalMode;
+import org.cardanofoundation.reeve.indexer.model.view.ExtractionTransactionItemView;
+import org.cardanofoundation.reeve.indexer.model.view.ExtractionTransactionView;
+import org.cardanofoundation.reeve.indexer.model.view.TransactionView;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Checks the total modes of the item search and the statements of the transaction list.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionServiceTest {
+
+    private static final String ORGANISATION_ID = "total-test";
+    private static final TestRows ROWS = new TestRows(4_000_000_000_000_000L, ORGANISATION_ID);
+    private static final int TRANSACTIONS = 3_000;
+    private static final int ITEMS_PER_TRANSACTION = 4;
+    private static final int ITEMS = TRANSACTIONS * ITEMS_PER_TRANSACTION;
+    private static final int PAGE_SIZE = 50;
+    private static final Sort ORDER = Sort.by("id");
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    void insertItems() {
+        cleanUp();
+        ROWS.transactions("total-test", TRANSACTIONS)
+                .set("date", "DATE '2024-01-01' + i % 365")
+                .insert(jdbcTemplate);
+        ROWS.items("total-test", TRANSACTIONS, ITEMS_PER_TRANSACTION).insert(jdbcTemplate);
+        ROWS.analyze(jdbcTemplate, "reeve_transactions", "reeve_transaction_item");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        ROWS.cleanUp(jdbcTemplate);
+    }
+
+    @Test
+    void exactTotalCountsAllMatches() {
+        ExtractionTransactionView view = search(TotalMode.EXACT, 0);
+
+        assertEquals(ITEMS, view.getTotal());
+        assertTrue(view.getHasNext());
+    }
+
+    @Test
+    void withoutTotalTheSameItemsAreReturned() {
+        ExtractionTransactionView exact = search(TotalMode.EXACT, 3);
+        ExtractionTransactionView none = search(TotalMode.NONE, 3);
+
+        assertNull(none.getTotal());
+        assertEquals(TotalMode.NONE, none.getTotalMode());
+        assertTrue(none.getHasNext());
+        assertEquals(exact.getTransactions().stream().map(ExtractionTransactionItemView::getId).toList(),
+                none.getTransactions().stream().map(ExtractionTransactionItemView::getId).toList());
+    }
+
+    @Test
+    void withoutTotalTheLastPageHasNoNext() {
+        ExtractionTransactionView last = search(TotalMode.NONE, ITEMS / PAGE_SIZE - 1);
+        ExtractionTransactionView beyond = search(TotalMode.NONE, ITEMS / PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, last.getTransactions().size());
+        assertFalse(last.getHasNext());
+        assertTrue(beyond.getTransactions().isEmpty());
+    }
+
+    @Test
+    void estimatedTotalIsCloseToTheCount() {
+        ExtractionTransactionView view = search(TotalMode.ESTIMATED, 0);
+
+        assertEquals(TotalMode.ESTIMATED, view.getTotalMode());
+        assertTrue(view.getTotal() > ITEMS / 2 && view.getTotal() < ITEMS * 2, "estimate " + view.getTotal());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 200})
+    void transactionPageLoadsItsItemsWithOneQuery(int pageSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // The test rows have the highest slots
+        List<TransactionView> transactions = transactionService.findAllTransactions(
+                PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "slot"))).getContent();
+
+        // The transactions, their count and the items of all of them
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(pageSize, transactions.size());
+        transactions.forEach(transaction -> {
+            assertTrue(transaction.getId().startsWith("total-test-"), transaction.getId());
+            assertEquals(ITEMS_PER_TRANSACTION, transaction.getItems().size());
+            transaction.getItems().forEach(item -> assertTrue(item.getId().startsWith(transaction.getId() + "-")));
+        });
+    }
+
+    private ExtractionTransactionView search(TotalMode totalMode, int page) {
+        return transactionService.findTransactionItems(ORGANISATION_ID, null, null, null, null, null, null, null,
+                totalMode, PageRequest.of(page, PAGE_SIZE, ORDER));
+    }
+}
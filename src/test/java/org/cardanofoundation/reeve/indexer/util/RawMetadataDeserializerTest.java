@@ -0,0 +1,99 @@
+package org.cardanofoundation.reeve.indexer.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.cardanofoundation.reeve.indexer.model.domain.Interval;
+import org.cardanofoundation.reeve.indexer.model.domain.Organisation;
+import org.cardanofoundation.reeve.indexer.model.domain.RawMetadata;
+import org.cardanofoundation.reeve.indexer.model.domain.ReeveTransactionType;
+import org.cardanofoundation.reeve.indexer.model.domain.Transaction;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+class RawMetadataDeserializerTest {
+
+    // Same settings Spring Boot applies with our application.yml
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"individual_transactions.json", "individual_transactions_type_last.json",
+            "report.json", "report_type_last.json"})
+    void producesSameResultAsTreeMapping(String fixture) throws IOException {
+        String body = readFixture(fixture);
+
+        RawMetadata streamed = objectMapper.readValue(body, RawMetadata.class);
+        RawMetadata expected = treeMapping(objectMapper.readTree(body));
+
+        assertEquals(objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(streamed));
+    }
+
+    @Test
+    void rejectsPayloadWithoutType() {
+        assertThrows(JsonProcessingException.class,
+                () -> objectMapper.readValue("{\"data\":[],\"ver\":1}", RawMetadata.class));
+        assertThrows(JsonProcessingException.class,
+                () -> objectMapper.readValue("{\"type\":null,\"data\":\"x\"}", RawMetadata.class));
+    }
+
+    private String readFixture(String name) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/metadata/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * The tree based mapping the streaming deserializer replaced, kept as reference.
+     */
+    private RawMetadata treeMapping(JsonNode rootNode) throws IOException {
+        ReeveTransactionType type = ReeveTransactionType.valueOf(rootNode.get("type").asText());
+        JsonNode dataNode = rootNode.get("data");
+        Object data = null;
+        if (dataNode != null && !dataNode.isNull()) {
+            data = switch (type) {
+                case INDIVIDUAL_TRANSACTIONS ->
+                        Arrays.asList(objectMapper.treeToValue(dataNode, Transaction[].class));
+                case REPORT -> dataNode.toString();
+            };
+        }
+        RawMetadata rawMetadata = new RawMetadata();
+        rawMetadata.setType(type);
+        rawMetadata.setData(data);
+        if (rootNode.has("ver")) {
+            rawMetadata.setVer(rootNode.get("ver").asLong());
+        }
+        if (rootNode.has("year")) {
+            rawMetadata.setYear(rootNode.get("year").asInt());
+        }
+        if (rootNode.has("subType")) {
+            rawMetadata.setSubType(rootNode.get("subType").asText());
+        }
+        if (rootNode.has("interval")) {
+            rawMetadata.setInterval(Interval.valueOf(rootNode.get("interval").asText()));
+        }
+        if (rootNode.has("period")) {
+            rawMetadata.setPeriod(rootNode.get("period").asInt());
+        }
+        if (rootNode.has("org") && !rootNode.get("org").isNull()) {
+            rawMetadata.setOrg(objectMapper.treeToValue(rootNode.get("org"), Organisation.class));
+        }
+        return rawMetadata;
+    }
+}
@@ -0,0 +1,50 @@
+package org.cardanofoundation.reeve.indexer.yaci;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ChunkedParserTest {
+
+    private final ChunkedParser chunkedParser = new ChunkedParser(8, 4);
+
+    @Test
+    void keepsInputOrderWhenMappingInChunks() {
+        List<Integer> inputs = IntStream.range(0, 103).boxed().toList();
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        List<String> results = chunkedParser.mapAll(inputs, input -> {
+            threads.add(Thread.currentThread());
+            return "payload-" + input;
+        });
+
+        assertEquals(inputs.stream().map(input -> "payload-" + input).toList(), results);
+        assertEquals(4, threads.size());
+    }
+
+    @Test
+    void mapsSmallBatchesOnTheCallingThread() {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        chunkedParser.mapAll(List.of(1, 2, 3), input -> threads.add(Thread.currentThread()));
+
+        assertEquals(Set.of(Thread.currentThread()), threads);
+    }
+
+    @Test
+    void rethrowsFailuresOfAChunk() {
+        List<Integer> inputs = IntStream.range(0, 20).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> chunkedParser.mapAll(inputs, input -> {
+            if (input == 17) {
+                throw new IllegalArgumentException("broken payload");
+            }
+            return input;
+        }));
+    }
+}
@@ -0,0 +1,102 @@
+package org.cardanofoundation.reeve.indexer.yaci;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.cardanofoundation.reeve.indexer.model.domain.RawMetadata;
+import org.cardanofoundation.reeve.indexer.model.domain.ReeveTransactionType;
+import org.cardanofoundation.reeve.indexer.model.repository.MetadataJournalRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class IngestPipelineTest {
+
+    private final MetadataWriter metadataWriter = mock(MetadataWriter.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final List<List<RawMetadata>> commits = new ArrayList<>();
+    private IngestPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        doAnswer(invocation -> commits.add(invocation.getArgument(0))).when(metadataWriter).write(anyList());
+        // Only a flush or the row limit may end a group in these tests
+        pipeline = new IngestPipeline(metadataWriter, mock(MetadataJournalRepository.class),
+                transactionTemplate, 16, 3, Duration.ofHours(1), new SimpleMeterRegistry());
+        pipeline.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.stop();
+    }
+
+    @Test
+    void flushCommitsEverythingSubmittedInOneGroup() {
+        RawMetadata first = report();
+        RawMetadata second = report();
+
+        pipeline.submit(List.of(first), List.of());
+        pipeline.submit(List.of(second), List.of());
+        pipeline.flush();
+
+        assertEquals(List.of(List.of(first, second)), commits);
+    }
+
+    @Test
+    void commitsOnceRowLimitIsReached() {
+        pipeline.submit(List.of(report(), report()), List.of());
+        pipeline.submit(List.of(report()), List.of());
+        pipeline.submit(List.of(report()), List.of());
+        pipeline.flush();
+
+        assertEquals(List.of(3, 1), commits.stream().map(List::size).toList());
+    }
+
+    @Test
+    void flushFailsWhenTheGroupCouldNotBeCommitted() {
+        doThrow(new IllegalArgumentException("constraint")).when(metadataWriter).write(anyList());
+
+        pipeline.submit(List.of(report()), List.of());
+
+        assertThrows(IllegalStateException.class, pipeline::flush);
+    }
+
+    @Test
+    void failedGroupBeforeTheFlushStopsTheIngest() {
+        // The group ends at the row limit and fails, the flush marker follows in a group of its own
+        doThrow(new IllegalArgumentException("constraint"))
+                .doAnswer(invocation -> commits.add(invocation.getArgument(0)))
+                .when(metadataWriter).write(anyList());
+
+        pipeline.submit(List.of(report(), report(), report()), List.of());
+
+        assertThrows(IllegalStateException.class, pipeline::flush);
+        assertThrows(IllegalStateException.class, () -> pipeline.submit(List.of(report()), List.of()));
+        assertThrows(IllegalStateException.class, pipeline::flush);
+        assertEquals(List.of(), commits);
+    }
+
+    private static RawMetadata report() {
+        RawMetadata rawMetadata = new RawMetadata();
+        rawMetadata.setType(ReeveTransactionType.REPORT);
+        rawMetadata.setData("{}");
+        return rawMetadata;
+    }
+}
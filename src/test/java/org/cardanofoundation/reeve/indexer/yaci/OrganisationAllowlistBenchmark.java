@@ -0,0 +1,80 @@
+package org.cardanofoundation.reeve.indexer.yaci;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.cardanofoundation.reeve.indexer.model.domain.RawMetadata;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Parse time of a mixed publisher batch with and without the allowlist pre-scan, run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class OrganisationAllowlistBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(OrganisationAllowlistBenchmark.class);
+    private static final String FOLLOWED = "75f95560c1d883ee7628993da5adf725a5d97a13929fd4f477be0faf5020ca94";
+    private static final int PAYLOADS = 2_000;
+    private static final int ROUNDS = 20;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Test
+    void mixedPublishers() throws IOException {
+        // One in ten payloads comes from the followed organisation
+        List<String> fixtures = List.of(readFixture("individual_transactions.json"), readFixture("report.json"));
+        List<String> bodies = new ArrayList<>();
+        for (int i = 0; i < PAYLOADS; i++) {
+            String body = fixtures.get(i % fixtures.size());
+            bodies.add(i % 10 == 0 ? body : body.replace(FOLLOWED, "other-publisher-" + i % 7));
+        }
+        OrganisationAllowlist allowlist =
+                new OrganisationAllowlist(Set.of(FOLLOWED), objectMapper, new SimpleMeterRegistry());
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            int parsed = 0;
+            for (String body : bodies) {
+                objectMapper.readValue(body, RawMetadata.class);
+                parsed++;
+            }
+            long parseAll = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int filtered = 0;
+            for (String body : bodies) {
+                if (allowlist.accepts(body)) {
+                    objectMapper.readValue(body, RawMetadata.class);
+                    filtered++;
+                }
+            }
+            long withAllowlist = System.nanoTime() - start;
+            if (round >= ROUNDS / 2) {
+                log.info("parse all: {} payloads in {} ms, allowlist: {} parsed in {} ms", parsed,
+                        parseAll / 1_000_000, filtered, withAllowlist / 1_000_000);
+            }
+        }
+    }
+
+    private String readFixture(String name) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/metadata/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.cardanofoundation.reeve.indexer.yaci;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OrganisationAllowlistTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrganisationAllowlist allowlist =
+            new OrganisationAllowlist(Set.of("org-1"), new ObjectMapper(), meterRegistry);
+
+    @Test
+    void readsTopLevelOrganisationIdOnly() {
+        assertEquals("org-1", allowlist.readOrganisationId(
+                "{\"type\":\"REPORT\",\"data\":{\"org\":{\"id\":\"org-2\"}},\"org\":{\"name\":\"x\",\"id\":\"org-1\"}}"));
+        assertNull(allowlist.readOrganisationId("{\"type\":\"REPORT\",\"data\":[]}"));
+        assertNull(allowlist.readOrganisationId("{\"org\":{\"id\":"));
+        assertNull(allowlist.readOrganisationId("[]"));
+    }
+
+    @Test
+    void countsAcceptedAndRejectedPayloads() {
+        assertTrue(allowlist.accepts("{\"org\":{\"id\":\"org-1\"},\"data\":[]}"));
+        assertFalse(allowlist.accepts("{\"org\":{\"id\":\"org-2\"},\"data\":[]}"));
+        assertFalse(allowlist.accepts("not json"));
+
+        assertEquals(1, meterRegistry.counter("reeve.allowlist.payloads", "result", "accepted").count());
+        assertEquals(2, meterRegistry.counter("reeve.allowlist.payloads", "result", "rejected").count());
+    }
+
+    @Test
+    void emptyAllowlistAcceptsEveryPublisher() {
+        OrganisationAllowlist followAll = new OrganisationAllowlist(Set.of(), new ObjectMapper(), meterRegistry);
+
+        assertTrue(followAll.accepts("{\"org\":{\"id\":\"org-2\"}}"));
+    }
+}
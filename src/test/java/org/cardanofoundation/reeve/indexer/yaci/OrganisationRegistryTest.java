@@ -0,0 +1,43 @@
+package org.cardanofoundation.reeve.indexer.yaci;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.cardanofoundation.reeve.indexer.model.repository.OrganisationBulkRepository;
+import org.cardanofoundation.reeve.indexer.model.repository.OrganisationRepository;
+import org.cardanofoundation.reeve.indexer.service.OrganisationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class OrganisationRegistryTest {
+
+    private final OrganisationRepository organisationRepository = mock(OrganisationRepository.class);
+    private final OrganisationService organisationService = mock(OrganisationService.class);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void reloadInATransactionClearsTheCacheAfterTheCommit() {
+        when(organisationRepository.findAllIds()).thenReturn(List.of("org"));
+        OrganisationRegistry registry = new OrganisationRegistry(organisationRepository,
+                mock(OrganisationBulkRepository.class), organisationService, new SimpleMeterRegistry());
+
+        TransactionSynchronizationManager.initSynchronization();
+        registry.reload();
+        verify(organisationService, never()).evictAll();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(organisationService).evictAll();
+    }
+}